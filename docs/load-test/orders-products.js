@@ -0,0 +1,68 @@
+// Teste de carga (k6) de /api/v1/orders e /api/v1/products, usado para comparar os modos
+// "platform threads" (padrão) e "virtual-threads". Veja a seção "Virtual threads" do README.
+//
+//   k6 run -e BASE_URL=http://localhost:8080 -e VUS=1000 docs/load-test/orders-products.js
+//
+// Cenário: cada usuário virtual alterna listagens de produtos e de pedidos (leitura) com a criação
+// de pedidos (escrita), sem pausa entre as requisições.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const VUS = parseInt(__ENV.VUS || '1000', 10);
+const JSON_HEADERS = { headers: { 'Content-Type': 'application/json' } };
+
+export const options = {
+    scenarios: {
+        mixed: {
+            executor: 'ramping-vus',
+            stages: [
+                { duration: '30s', target: VUS },
+                { duration: '2m', target: VUS },
+                { duration: '15s', target: 0 },
+            ],
+        },
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+function post(path, body) {
+    const response = http.post(`${BASE_URL}${path}`, JSON.stringify(body), JSON_HEADERS);
+    check(response, { [`POST ${path} 201`]: (r) => r.status === 201 });
+    return response.json();
+}
+
+// Massa de dados: 1 fornecedor, 50 produtos e 1 cliente, criados uma única vez.
+export function setup() {
+    const runId = Date.now();
+    const supplier = post('/api/v1/suppliers', {
+        name: 'Load Test Supplier', contactPerson: 'k6', email: `supplier-${runId}@load.test`, phone: '000',
+    });
+    const productIds = [];
+    for (let i = 0; i < 50; i++) {
+        const product = post('/api/v1/products', {
+            name: `Product ${i}`, description: 'load test', price: 10 + i, sku: `LT-${runId}-${i}`,
+            supplierId: supplier.id,
+        });
+        productIds.push(product.id);
+    }
+    const customer = post('/api/v1/customers', {
+        firstName: 'Load', lastName: 'Test', email: `customer-${runId}@load.test`,
+    });
+    return { productIds, customerId: customer.id };
+}
+
+export default function (data) {
+    const products = http.get(`${BASE_URL}/api/v1/products?size=20`, { tags: { name: 'GET /products' } });
+    check(products, { 'GET /products 200': (r) => r.status === 200 });
+
+    const orders = http.get(`${BASE_URL}/api/v1/orders?size=20`, { tags: { name: 'GET /orders' } });
+    check(orders, { 'GET /orders 200': (r) => r.status === 200 });
+
+    const productId = data.productIds[Math.floor(Math.random() * data.productIds.length)];
+    const created = http.post(`${BASE_URL}/api/v1/orders`, JSON.stringify({
+        customerId: data.customerId,
+        items: [{ productId, quantity: 1 }],
+    }), { ...JSON_HEADERS, tags: { name: 'POST /orders' } });
+    check(created, { 'POST /orders 201': (r) => r.status === 201 });
+}
@@ -0,0 +1,25 @@
+-- Migração das chaves primárias de IDENTITY para sequências (otimizador "pooled" do Hibernate).
+--
+-- As colunas "id" continuam as mesmas: o Hibernate passa a gerar o valor a partir da sequência
+-- e o envia explicitamente no INSERT, o que colunas "GENERATED BY DEFAULT AS IDENTITY" aceitam.
+--
+-- O otimizador pooled interpreta o valor lido da sequência como o TOPO do bloco reservado
+-- (valor - 49 .. valor). Por isso cada sequência precisa reiniciar em MAX(id) + 50; reiniciar
+-- em MAX(id) + 1 faria o primeiro bloco colidir com registros existentes.
+--
+-- Sintaxe H2. Em PostgreSQL, substitua cada ALTER SEQUENCE por:
+--   SELECT setval('customers_seq', COALESCE((SELECT MAX(id) FROM customers), 0) + 50, false);
+
+CREATE SEQUENCE IF NOT EXISTS customers_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS employees_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS suppliers_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS products_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS orders_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS order_items_seq START WITH 1 INCREMENT BY 50;
+
+ALTER SEQUENCE customers_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM customers);
+ALTER SEQUENCE employees_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM employees);
+ALTER SEQUENCE suppliers_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM suppliers);
+ALTER SEQUENCE products_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM products);
+ALTER SEQUENCE orders_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM orders);
+ALTER SEQUENCE order_items_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM order_items);
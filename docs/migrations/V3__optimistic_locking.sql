@@ -0,0 +1,12 @@
+-- Bloqueio otimista (@Version em VersionedEntity) para pedidos e cadastros.
+--
+-- Registros existentes começam na versão 0. O Hibernate passa a incluir "version = ?" no WHERE de cada UPDATE
+-- e a incrementar a coluna; atualizações feitas por fora da aplicação também devem incrementá-la.
+--
+-- Sintaxe H2 (válida também em PostgreSQL).
+
+ALTER TABLE customers ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE employees ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE suppliers ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE products ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE orders ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
@@ -0,0 +1,23 @@
+-- Status do pedido como SMALLINT (OrderStatusConverter) e índice para a listagem por status.
+--
+-- Os códigos abaixo são os de OrderStatus e não podem mudar: 1 PENDING_PAYMENT, 2 PAID, 3 SHIPPED,
+-- 4 DELIVERED, 5 CANCELLED. Um status desconhecido interrompe a migração (NOT NULL) em vez de ser descartado.
+--
+-- Sintaxe H2. Em PostgreSQL, troque o ALTER COLUMN ... RENAME TO por:
+--   ALTER TABLE orders RENAME COLUMN status_code TO status;
+
+ALTER TABLE orders ADD COLUMN status_code SMALLINT;
+
+UPDATE orders SET status_code = CASE status
+    WHEN 'PENDING_PAYMENT' THEN 1
+    WHEN 'PAID' THEN 2
+    WHEN 'SHIPPED' THEN 3
+    WHEN 'DELIVERED' THEN 4
+    WHEN 'CANCELLED' THEN 5
+END;
+
+ALTER TABLE orders ALTER COLUMN status_code SET NOT NULL;
+ALTER TABLE orders DROP COLUMN status;
+ALTER TABLE orders ALTER COLUMN status_code RENAME TO status;
+
+CREATE INDEX idx_orders_status_order_date ON orders (status, order_date);
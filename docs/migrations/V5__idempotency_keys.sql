@@ -0,0 +1,17 @@
+-- Respostas guardadas para o cabeçalho Idempotency-Key (IdempotencyRecord).
+--
+-- A chave primária é a própria chave enviada pelo cliente: entre instâncias, o INSERT que chegar primeiro vence
+-- e os demais recebem violação de chave (tratada pelo IdempotencyStore). As linhas vencidas são removidas
+-- periodicamente com "DELETE ... WHERE expires_at < ?", apoiado pelo índice em expires_at.
+--
+-- Sintaxe H2. Em PostgreSQL, troque VARCHAR(1048576) por TEXT.
+
+CREATE TABLE idempotency_keys (
+    idempotency_key VARCHAR(255) NOT NULL PRIMARY KEY,
+    fingerprint VARCHAR(64) NOT NULL,
+    response_body VARCHAR(1048576) NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    expires_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_idempotency_keys_expires_at ON idempotency_keys (expires_at);
@@ -0,0 +1,17 @@
+-- Resumo desnormalizado de receita por cliente, funcionário e produto por dia (DailyRevenue).
+--
+-- A chave primária (dimension, dimension_id, revenue_date) atende às consultas dos relatórios, que leem um
+-- intervalo de dias de um único registro. A tabela é preenchida pelo RevenueSummaryWriter; para pedidos já
+-- existentes, rode POST /api/v1/reports/rebuild depois desta migração.
+--
+-- Sintaxe compatível com H2 e PostgreSQL.
+
+CREATE TABLE daily_revenue (
+    dimension VARCHAR(16) NOT NULL,
+    dimension_id BIGINT NOT NULL,
+    revenue_date DATE NOT NULL,
+    order_count BIGINT NOT NULL,
+    quantity BIGINT NOT NULL,
+    revenue NUMERIC(19, 2) NOT NULL,
+    PRIMARY KEY (dimension, dimension_id, revenue_date)
+);
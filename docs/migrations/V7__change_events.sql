@@ -0,0 +1,22 @@
+-- Outbox transacional do feed de alterações (ChangeEvent).
+--
+-- Cada alteração de cadastro ou de pedido grava uma linha na mesma transação; o ChangeRelay preenche
+-- sequence_number ao publicá-la. O índice único em sequence_number atende à leitura do feed (sequence_number > ?)
+-- e à busca das linhas ainda não publicadas (sequence_number IS NULL).
+--
+-- Sintaxe H2. Em PostgreSQL, troque VARCHAR(1048576) por TEXT.
+
+CREATE SEQUENCE change_events_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE change_events (
+    id BIGINT NOT NULL PRIMARY KEY,
+    sequence_number BIGINT,
+    entity_type VARCHAR(16) NOT NULL,
+    entity_id BIGINT NOT NULL,
+    operation VARCHAR(16) NOT NULL,
+    payload VARCHAR(1048576),
+    created_at TIMESTAMP NOT NULL,
+    published_at TIMESTAMP
+);
+
+CREATE UNIQUE INDEX idx_change_events_sequence ON change_events (sequence_number);
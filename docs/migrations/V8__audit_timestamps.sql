@@ -0,0 +1,32 @@
+-- Instantes de criação e alteração (AuditableEntity) dos cadastros e tabela de exclusões (Tombstone), usados
+-- pelas listagens incrementais (?modifiedSince=).
+--
+-- Os registros existentes recebem o instante da migração: a primeira sincronização incremental depois dela
+-- equivale a uma leitura completa. O índice (updated_at, id) atende à busca por chave "(updated_at, id) > (?, ?)".
+--
+-- Sintaxe H2 (válida também em PostgreSQL).
+
+ALTER TABLE customers ADD COLUMN IF NOT EXISTS created_at TIMESTAMP DEFAULT LOCALTIMESTAMP NOT NULL;
+ALTER TABLE customers ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP DEFAULT LOCALTIMESTAMP NOT NULL;
+ALTER TABLE employees ADD COLUMN IF NOT EXISTS created_at TIMESTAMP DEFAULT LOCALTIMESTAMP NOT NULL;
+ALTER TABLE employees ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP DEFAULT LOCALTIMESTAMP NOT NULL;
+ALTER TABLE suppliers ADD COLUMN IF NOT EXISTS created_at TIMESTAMP DEFAULT LOCALTIMESTAMP NOT NULL;
+ALTER TABLE suppliers ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP DEFAULT LOCALTIMESTAMP NOT NULL;
+ALTER TABLE products ADD COLUMN IF NOT EXISTS created_at TIMESTAMP DEFAULT LOCALTIMESTAMP NOT NULL;
+ALTER TABLE products ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP DEFAULT LOCALTIMESTAMP NOT NULL;
+
+CREATE INDEX idx_customers_updated_at ON customers (updated_at, id);
+CREATE INDEX idx_employees_updated_at ON employees (updated_at, id);
+CREATE INDEX idx_suppliers_updated_at ON suppliers (updated_at, id);
+CREATE INDEX idx_products_updated_at ON products (updated_at, id);
+
+CREATE SEQUENCE tombstones_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE tombstones (
+    id BIGINT NOT NULL PRIMARY KEY,
+    entity_type VARCHAR(16) NOT NULL,
+    entity_id BIGINT NOT NULL,
+    deleted_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_tombstones_type_deleted_at ON tombstones (entity_type, deleted_at, entity_id);
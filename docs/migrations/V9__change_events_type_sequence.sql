@@ -0,0 +1,6 @@
+-- Índice da consulta do ETag das listagens (ChangeFeedService.collectionTag): a última posição publicada e a
+-- existência de registros ainda não publicados, por tipo de entidade.
+--
+-- Sintaxe H2 (válida também em PostgreSQL).
+
+CREATE INDEX idx_change_events_type_sequence ON change_events (entity_type, sequence_number);
@@ -0,0 +1,36 @@
+package com.company.nexus.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Formatos binários negociados pelo cabeçalho Accept: application/cbor e application/x-jackson-smile.
+ * <p>
+ * Sem estes beans, o Spring MVC registraria os mesmos conversores com um ObjectMapper próprio. Aqui eles partem do
+ * builder do Spring Boot (spring.jackson.*, módulos registrados), então os DTOs saem iguais ao JSON, só codificados
+ * de outra forma. Sem Accept (ou com application/json), a resposta continua em JSON.
+ */
+@Configuration
+public class BinaryFormatConfiguration {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        // Valores curtos repetidos (o fornecedor aninhado em cada produto de uma página) viram referências ao
+        // primeiro, além dos nomes de campos, que o Smile já compartilha por padrão.
+        SmileFactory factory = SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build();
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(factory).build());
+    }
+}
@@ -0,0 +1,12 @@
+package com.company.nexus.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita os métodos @Scheduled (ex.: limpeza das chaves de idempotência vencidas).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfiguration {
+}
@@ -0,0 +1,30 @@
+package com.company.nexus.controller;
+
+import com.company.nexus.dto.ChangeFeedDTO;
+import com.company.nexus.model.ChangeEvent;
+import com.company.nexus.service.ChangeFeedService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+
+@RestController
+@RequestMapping("/api/v1/changes")
+@RequiredArgsConstructor
+public class ChangeController {
+
+    private final ChangeFeedService changeFeedService;
+
+    // Long-poll: sem alterações após "since", a resposta espera até "wait" segundos por novas.
+    // O consumidor repete a chamada com o "next" da resposta.
+    @GetMapping
+    public DeferredResult<ChangeFeedDTO> getChanges(
+            @RequestParam(defaultValue = "0") long since,
+            @RequestParam(required = false) ChangeEvent.EntityType type,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(defaultValue = "30") long wait
+    ) {
+        return changeFeedService.poll(since, type, limit, Duration.ofSeconds(wait));
+    }
+}
@@ -0,0 +1,84 @@
+package com.company.nexus.controller;
+
+import com.company.nexus.service.Tagged;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.function.Supplier;
+
+/**
+ * Requisições condicionais por ETag.
+ * <p>
+ * O ETag vem de uma consulta à parte (versões da entidade ou posição do feed de alterações), então um If-None-Match
+ * ainda atual é respondido com 304 sem ler o registro, suas associações LAZY ou passar pelo Jackson.
+ * <p>
+ * Os ETags são fracos (W/"..."): identificam a versão dos dados, e não os bytes da resposta, que mudam com o formato
+ * negociado (JSON, CBOR, Smile) e com a compressão. O Tomcat também não comprime respostas com ETag forte.
+ */
+final class ConditionalRequests {
+
+    private ConditionalRequests() {
+    }
+
+    /**
+     * Leitura por ID. O ETag só é consultado antes da leitura quando há If-None-Match; no 200, vem da própria
+     * entidade lida, e a requisição incondicional não paga nenhuma consulta a mais.
+     *
+     * @param currentTag O ETag atual, lido sem carregar a entidade.
+     */
+    static <T> ResponseEntity<T> ifNoneMatch(WebRequest request, Supplier<String> currentTag, Supplier<Tagged<T>> read) {
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            String tag = weak(currentTag.get());
+            if (request.checkNotModified(tag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(tag).build();
+            }
+        }
+        Tagged<T> tagged = read.get();
+        return ResponseEntity.ok().eTag(weak(tagged.tag())).body(tagged.body());
+    }
+
+    /**
+     * Listagem.
+     *
+     * @param tag  O ETag atual, sem aspas; null responde sempre 200 sem ETag.
+     * @param body Lido só quando a resposta não é 304.
+     */
+    static <T> ResponseEntity<T> ifNoneMatch(WebRequest request, String tag, Supplier<T> body) {
+        if (tag == null) {
+            return ResponseEntity.ok(body.get());
+        }
+        String etag = weak(tag);
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(body.get());
+    }
+
+    /**
+     * @return O ETag exigido pelo cabeçalho If-Match, sem aspas; null sem o cabeçalho ou com "*".
+     */
+    static String ifMatch(String header) {
+        if (header == null || header.isBlank() || header.trim().equals("*")) {
+            return null;
+        }
+        String tag = header.trim();
+        if (tag.startsWith("W/")) {
+            // Os ETags desta API são fracos só por valerem para todos os formatos da resposta; o valor é a versão
+            // dos dados, então compará-lo continua exato.
+            tag = tag.substring(2);
+        }
+        if (tag.contains(",")) {
+            throw new IllegalArgumentException("If-Match with more than one entity tag is not supported.");
+        }
+        if (tag.length() < 2 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            throw new IllegalArgumentException("Invalid If-Match header: " + header);
+        }
+        return tag.substring(1, tag.length() - 1);
+    }
+
+    private static String weak(String tag) {
+        return "W/\"" + tag + "\"";
+    }
+}
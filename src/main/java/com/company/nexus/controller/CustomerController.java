@@ -2,14 +2,27 @@ package com.company.nexus.controller;
 
 import com.company.nexus.dto.CustomerRequestDTO;
 import com.company.nexus.dto.CustomerResponseDTO;
+import com.company.nexus.dto.ImportReportDTO;
+import com.company.nexus.dto.PageResponseDTO;
 import com.company.nexus.service.CustomerService;
+import com.company.nexus.service.ExportFormat;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
 
 @RestController
 @RequestMapping("/api/v1/customers")
@@ -26,22 +39,58 @@ public class CustomerController {
     }
 
     @GetMapping
-    public ResponseEntity<List<CustomerResponseDTO>> getAllCustomers() {
-        List<CustomerResponseDTO> customers = customerService.getAllCustomers();
-        return ResponseEntity.ok(customers);
+    public ResponseEntity<PageResponseDTO<CustomerResponseDTO>> getAllCustomers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime modifiedSince,
+            @PageableDefault(size = 20) Pageable pageable,
+            WebRequest request
+    ) {
+        // Sem cursor: paginação por OFFSET (page/size). Com cursor: paginação por chave a partir do último ID.
+        // Com modifiedSince: só o que mudou desde o instante, por (updated_at, id), incluindo os IDs excluídos.
+        // A listagem incremental fica sem ETag: o que ela devolve muda também com o tempo (settle-time).
+        String tag = modifiedSince == null ? customerService.getCustomersTag() : null;
+        return ConditionalRequests.ifNoneMatch(request, tag,
+                () -> customerService.getAllCustomers(cursor, modifiedSince, pageable));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportCustomers(@RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = ExportFormat.fromParameter(format);
+        // O corpo é escrito de forma assíncrona, linha a linha; a compressão gzip fica a cargo do servidor.
+        StreamingResponseBody body = out -> customerService.exportCustomers(exportFormat, out);
+
+        return ResponseEntity.ok()
+                .contentType(exportFormat.mediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("customers." + exportFormat.extension())
+                        .build()
+                        .toString())
+                .body(body);
+    }
+
+    @PostMapping(path = "/import", consumes = {"application/x-ndjson", "text/csv"})
+    public ResponseEntity<ImportReportDTO> importCustomers(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType, InputStream body
+    ) throws IOException {
+        return ResponseEntity.ok(customerService.importCustomers(ExportFormat.fromMediaType(contentType), body));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<CustomerResponseDTO> getCustomerById(@PathVariable Long id) {
-        CustomerResponseDTO customer = customerService.getCustomerById(id);
-        return ResponseEntity.ok(customer);
+    public ResponseEntity<CustomerResponseDTO> getCustomerById(@PathVariable Long id, WebRequest request) {
+        // Com If-None-Match ainda atual, responde 304 só com a consulta do ETag, sem carregar o cliente.
+        return ConditionalRequests.ifNoneMatch(request, () -> customerService.getCustomerTag(id),
+                () -> customerService.getCustomerById(id));
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<CustomerResponseDTO> updateCustomer(
-            @PathVariable Long id, @Valid @RequestBody CustomerRequestDTO requestDTO
+            @PathVariable Long id,
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody CustomerRequestDTO requestDTO
     ) {
-        CustomerResponseDTO updatedCustomer = customerService.updateCustomer(id, requestDTO);
+        // If-Match: grava só se o cliente ainda estiver na versão lida (senão 412).
+        String expectedTag = ConditionalRequests.ifMatch(ifMatch);
+        CustomerResponseDTO updatedCustomer = customerService.updateCustomer(id, requestDTO, expectedTag);
         return ResponseEntity.ok(updatedCustomer);
     }
 
@@ -2,14 +2,20 @@ package com.company.nexus.controller;
 
 import com.company.nexus.dto.EmployeeRequestDTO;
 import com.company.nexus.dto.EmployeeResponseDTO;
+import com.company.nexus.dto.PageResponseDTO;
 import com.company.nexus.service.EmployeeService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
-import java.util.List;
+import java.time.LocalDateTime;
 
 @RestController
 @RequestMapping("/api/v1/employees")
@@ -25,20 +31,30 @@ public class EmployeeController {
     }
 
     @GetMapping
-    public ResponseEntity<List<EmployeeResponseDTO>> getAllEmployees() {
-        return ResponseEntity.ok(employeeService.getAllEmployees());
+    public ResponseEntity<PageResponseDTO<EmployeeResponseDTO>> getAllEmployees(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime modifiedSince,
+            @PageableDefault(size = 20) Pageable pageable,
+            WebRequest request
+    ) {
+        String tag = modifiedSince == null ? employeeService.getEmployeesTag() : null;
+        return ConditionalRequests.ifNoneMatch(request, tag,
+                () -> employeeService.getAllEmployees(cursor, modifiedSince, pageable));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<EmployeeResponseDTO> getEmployeeById(@PathVariable Long id) {
-        return ResponseEntity.ok(employeeService.getEmployeeById(id));
+    public ResponseEntity<EmployeeResponseDTO> getEmployeeById(@PathVariable Long id, WebRequest request) {
+        return ConditionalRequests.ifNoneMatch(request, () -> employeeService.getEmployeeTag(id),
+                () -> employeeService.getEmployeeById(id));
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<EmployeeResponseDTO> updateEmployee(
-            @PathVariable Long id, @Valid @RequestBody EmployeeRequestDTO requestDTO
+            @PathVariable Long id,
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody EmployeeRequestDTO requestDTO
     ) {
-        return ResponseEntity.ok(employeeService.updateEmployee(id, requestDTO));
+        return ResponseEntity.ok(employeeService.updateEmployee(id, requestDTO, ConditionalRequests.ifMatch(ifMatch)));
     }
 
     @DeleteMapping("/{id}")
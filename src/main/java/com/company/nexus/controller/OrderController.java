@@ -2,14 +2,23 @@ package com.company.nexus.controller;
 
 import com.company.nexus.dto.OrderRequestDTO;
 import com.company.nexus.dto.OrderResponseDTO;
+import com.company.nexus.dto.OrderSubmissionDTO;
+import com.company.nexus.dto.PageResponseDTO;
+import com.company.nexus.model.OrderStatus;
+import com.company.nexus.service.IdempotencyStore;
+import com.company.nexus.service.OrderIngestionService;
 import com.company.nexus.service.OrderService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
-import java.util.List;
+import java.net.URI;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/v1/orders")
@@ -17,26 +26,84 @@ import java.util.List;
 public class OrderController {
 
     private final OrderService orderService;
+    private final OrderIngestionService orderIngestionService;
+    private final IdempotencyStore idempotencyStore;
 
     @PostMapping
-    public ResponseEntity<OrderResponseDTO> createOrder(@Valid @RequestBody OrderRequestDTO requestDTO) {
-        OrderResponseDTO createdOrder = orderService.createOrder(requestDTO);
-        return new ResponseEntity<>(createdOrder, HttpStatus.CREATED);
+    public ResponseEntity<OrderResponseDTO> createOrder(
+            @RequestHeader(name = IdempotencyStore.HEADER, required = false) String idempotencyKey,
+            @Valid @RequestBody OrderRequestDTO requestDTO
+    ) {
+        if (idempotencyKey == null) {
+            OrderResponseDTO createdOrder = orderService.createOrder(requestDTO);
+            return new ResponseEntity<>(createdOrder, HttpStatus.CREATED);
+        }
+
+        // Reenvios com a mesma chave (ex.: após um timeout) devolvem o pedido criado na primeira vez.
+        IdempotencyStore.Result<OrderResponseDTO> result = idempotencyStore.execute(
+                idempotencyKey, requestDTO, OrderResponseDTO.class, () -> orderService.createOrder(requestDTO));
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .header(IdempotencyStore.REPLAYED_HEADER, String.valueOf(result.replayed()))
+                .body(result.body());
+    }
+
+    // Modo assíncrono: enfileira o pedido e responde 202 imediatamente; o status é consultado pelo trackingId.
+    @PostMapping("/async")
+    public ResponseEntity<OrderSubmissionDTO> submitOrder(@Valid @RequestBody OrderRequestDTO requestDTO) {
+        OrderSubmissionDTO submission = orderIngestionService.submit(requestDTO);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/v1/orders/submissions/" + submission.trackingId()))
+                .body(submission);
+    }
+
+    @GetMapping("/submissions/{trackingId}")
+    public ResponseEntity<OrderSubmissionDTO> getSubmission(@PathVariable UUID trackingId) {
+        return ResponseEntity.ok(orderIngestionService.getSubmission(trackingId));
     }
 
     @GetMapping
-    public ResponseEntity<List<OrderResponseDTO>> getAllOrders() {
-        return ResponseEntity.ok(orderService.getAllOrders());
+    public ResponseEntity<PageResponseDTO<?>> getAllOrders(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String embed,
+            @PageableDefault(size = 20) Pageable pageable
+    ) {
+        if (fields == null && embed == null) {
+            return ResponseEntity.ok(orderService.getAllOrders(cursor, status, pageable));
+        }
+        // Resposta parcial: ex.: ?fields=id,totalAmount dispensa o JOIN com cliente/funcionário e a leitura dos itens.
+        return ResponseEntity.ok(orderService.getOrdersSparse(cursor, status, fields, embed, pageable));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<OrderResponseDTO> getOrderById(@PathVariable Long id) {
-        return ResponseEntity.ok(orderService.getOrderById(id));
+    public ResponseEntity<OrderResponseDTO> getOrderById(@PathVariable Long id, WebRequest request) {
+        return ConditionalRequests.ifNoneMatch(request, () -> orderService.getOrderTag(id),
+                () -> orderService.getOrderById(id));
     }
 
     @GetMapping("/customer/{customerId}")
-    public ResponseEntity<List<OrderResponseDTO>> getOrdersByCustomerId(@PathVariable Long customerId) {
-        return ResponseEntity.ok(orderService.getOrdersByCustomerId(customerId));
+    public ResponseEntity<PageResponseDTO<OrderResponseDTO>> getOrdersByCustomerId(
+            @PathVariable Long customerId,
+            @RequestParam(required = false) String cursor,
+            @PageableDefault(size = 20) Pageable pageable
+    ) {
+        return ResponseEntity.ok(orderService.getOrdersByCustomerId(customerId, cursor, pageable));
+    }
+
+    @PostMapping("/{id}/pay")
+    public ResponseEntity<OrderResponseDTO> payOrder(@PathVariable Long id) {
+        return ResponseEntity.ok(orderService.payOrder(id));
+    }
+
+    @PostMapping("/{id}/ship")
+    public ResponseEntity<OrderResponseDTO> shipOrder(@PathVariable Long id) {
+        return ResponseEntity.ok(orderService.shipOrder(id));
+    }
+
+    @PostMapping("/{id}/deliver")
+    public ResponseEntity<OrderResponseDTO> deliverOrder(@PathVariable Long id) {
+        return ResponseEntity.ok(orderService.deliverOrder(id));
     }
 
     @PostMapping("/{id}/cancel")  // ENDPOINT DE AÇÃO
@@ -1,14 +1,28 @@
 package com.company.nexus.controller;
 
+import com.company.nexus.dto.ImportReportDTO;
+import com.company.nexus.dto.PageResponseDTO;
 import com.company.nexus.dto.ProductRequestDTO;
 import com.company.nexus.dto.ProductResponseDTO;
+import com.company.nexus.service.ExportFormat;
 import com.company.nexus.service.ProductService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -25,20 +39,70 @@ public class ProductController {
     }
 
     @GetMapping
-    public ResponseEntity<List<ProductResponseDTO>> getAllProducts() {
-        return ResponseEntity.ok(productService.getAllProducts());
+    public ResponseEntity<PageResponseDTO<?>> getAllProducts(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime modifiedSince,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String embed,
+            @PageableDefault(size = 20) Pageable pageable,
+            WebRequest request
+    ) {
+        String tag = modifiedSince == null ? productService.getProductsTag() : null;
+        if (fields == null && embed == null) {
+            return ConditionalRequests.ifNoneMatch(request, tag,
+                    () -> productService.getAllProducts(cursor, modifiedSince, pageable));
+        }
+        // Resposta parcial: só os campos pedidos são lidos do banco e serializados.
+        return ConditionalRequests.ifNoneMatch(request, tag,
+                () -> productService.getProductsSparse(cursor, modifiedSince, fields, embed, pageable));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<ProductResponseDTO>> searchProducts(
+            @RequestParam String q,
+            @RequestParam(required = false) Long supplierId,
+            @RequestParam(defaultValue = "true") boolean prefix,
+            @RequestParam(defaultValue = "false") boolean fuzzy,
+            @RequestParam(defaultValue = "20") int limit
+    ) {
+        return ResponseEntity.ok(productService.searchProducts(q, supplierId, prefix, fuzzy, limit));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportProducts(@RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = ExportFormat.fromParameter(format);
+        StreamingResponseBody body = out -> productService.exportProducts(exportFormat, out);
+
+        return ResponseEntity.ok()
+                .contentType(exportFormat.mediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("products." + exportFormat.extension())
+                        .build()
+                        .toString())
+                .body(body);
+    }
+
+    // O corpo é lido como stream (InputStream), sem ser carregado inteiro em memória.
+    @PostMapping(path = "/import", consumes = {"application/x-ndjson", "text/csv"})
+    public ResponseEntity<ImportReportDTO> importProducts(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType, InputStream body
+    ) throws IOException {
+        return ResponseEntity.ok(productService.importProducts(ExportFormat.fromMediaType(contentType), body));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ProductResponseDTO> getProductById(@PathVariable Long id) {
-        return ResponseEntity.ok(productService.getProductById(id));
+    public ResponseEntity<ProductResponseDTO> getProductById(@PathVariable Long id, WebRequest request) {
+        return ConditionalRequests.ifNoneMatch(request, () -> productService.getProductTag(id),
+                () -> productService.getProductById(id));
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<ProductResponseDTO> updateProduct(
-            @PathVariable Long id, @Valid @RequestBody ProductRequestDTO requestDTO
+            @PathVariable Long id,
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody ProductRequestDTO requestDTO
     ) {
-        return ResponseEntity.ok(productService.updateProduct(id, requestDTO));
+        return ResponseEntity.ok(productService.updateProduct(id, requestDTO, ConditionalRequests.ifMatch(ifMatch)));
     }
 
     @DeleteMapping("/{id}")
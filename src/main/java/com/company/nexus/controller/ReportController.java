@@ -0,0 +1,54 @@
+package com.company.nexus.controller;
+
+import com.company.nexus.dto.RevenueRebuildDTO;
+import com.company.nexus.dto.RevenueReportDTO;
+import com.company.nexus.model.RevenueDimension;
+import com.company.nexus.service.ReportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/v1/reports")
+@RequiredArgsConstructor
+public class ReportController {
+
+    private final ReportService reportService;
+
+    // Intervalo opcional (?from=2025-01-01&to=2025-01-31, datas ISO); padrão: os últimos 30 dias.
+    @GetMapping("/customers/{id}/revenue")
+    public ResponseEntity<RevenueReportDTO> getCustomerRevenue(
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        return ResponseEntity.ok(reportService.getRevenue(RevenueDimension.CUSTOMER, id, from, to));
+    }
+
+    @GetMapping("/employees/{id}/revenue")
+    public ResponseEntity<RevenueReportDTO> getEmployeeRevenue(
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        return ResponseEntity.ok(reportService.getRevenue(RevenueDimension.EMPLOYEE, id, from, to));
+    }
+
+    @GetMapping("/products/{id}/revenue")
+    public ResponseEntity<RevenueReportDTO> getProductRevenue(
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        return ResponseEntity.ok(reportService.getRevenue(RevenueDimension.PRODUCT, id, from, to));
+    }
+
+    // Recalcula o resumo a partir dos pedidos (backfill, ou após deltas perdidos em uma parada da aplicação).
+    @PostMapping("/rebuild")
+    public ResponseEntity<RevenueRebuildDTO> rebuild() {
+        return ResponseEntity.ok(reportService.rebuild());
+    }
+}
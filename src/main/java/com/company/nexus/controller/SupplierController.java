@@ -1,15 +1,24 @@
 package com.company.nexus.controller;
 
+import com.company.nexus.dto.PageResponseDTO;
 import com.company.nexus.dto.SupplierRequestDTO;
 import com.company.nexus.dto.SupplierResponseDTO;
+import com.company.nexus.service.ExportFormat;
 import com.company.nexus.service.SupplierService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.time.LocalDateTime;
 
 @RestController
 @RequestMapping("/api/v1/suppliers")
@@ -25,20 +34,44 @@ public class SupplierController {
     }
 
     @GetMapping
-    public ResponseEntity<List<SupplierResponseDTO>> getAllSuppliers() {
-        return ResponseEntity.ok(supplierService.getAllSuppliers());
+    public ResponseEntity<PageResponseDTO<SupplierResponseDTO>> getAllSuppliers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime modifiedSince,
+            @PageableDefault(size = 20) Pageable pageable,
+            WebRequest request
+    ) {
+        String tag = modifiedSince == null ? supplierService.getSuppliersTag() : null;
+        return ConditionalRequests.ifNoneMatch(request, tag,
+                () -> supplierService.getAllSuppliers(cursor, modifiedSince, pageable));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportSuppliers(@RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = ExportFormat.fromParameter(format);
+        StreamingResponseBody body = out -> supplierService.exportSuppliers(exportFormat, out);
+
+        return ResponseEntity.ok()
+                .contentType(exportFormat.mediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("suppliers." + exportFormat.extension())
+                        .build()
+                        .toString())
+                .body(body);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<SupplierResponseDTO> getSupplierById(@PathVariable Long id) {
-        return ResponseEntity.ok(supplierService.getSupplierById(id));
+    public ResponseEntity<SupplierResponseDTO> getSupplierById(@PathVariable Long id, WebRequest request) {
+        return ConditionalRequests.ifNoneMatch(request, () -> supplierService.getSupplierTag(id),
+                () -> supplierService.getSupplierById(id));
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<SupplierResponseDTO> updateSupplier(
-            @PathVariable Long id, @Valid @RequestBody SupplierRequestDTO requestDTO
+            @PathVariable Long id,
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody SupplierRequestDTO requestDTO
     ) {
-        return ResponseEntity.ok(supplierService.updateSupplier(id, requestDTO));
+        return ResponseEntity.ok(supplierService.updateSupplier(id, requestDTO, ConditionalRequests.ifMatch(ifMatch)));
     }
 
     @DeleteMapping("/{id}")
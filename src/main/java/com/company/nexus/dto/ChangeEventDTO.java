@@ -0,0 +1,36 @@
+package com.company.nexus.dto;
+
+import com.company.nexus.model.ChangeEvent;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import java.time.LocalDateTime;
+
+/**
+ * Uma alteração do feed (GET /api/v1/changes).
+ *
+ * @param sequence   A posição no feed; o "since" da próxima leitura.
+ * @param entityType O tipo da entidade alterada.
+ * @param entityId   O ID da entidade alterada.
+ * @param operation  CREATED, UPDATED ou DELETED.
+ * @param payload    A entidade como o GET devolveria, já gravada como JSON; null em DELETED.
+ * @param occurredAt Quando a alteração foi gravada.
+ */
+public record ChangeEventDTO(
+        long sequence,
+        ChangeEvent.EntityType entityType,
+        Long entityId,
+        ChangeEvent.Operation operation,
+        @JsonRawValue String payload,
+        LocalDateTime occurredAt
+) {
+    public ChangeEventDTO(ChangeEvent changeEvent) {
+        this(
+                changeEvent.getSequence(),
+                changeEvent.getEntityType(),
+                changeEvent.getEntityId(),
+                changeEvent.getOperation(),
+                changeEvent.getPayload(),
+                changeEvent.getCreatedAt()
+        );
+    }
+}
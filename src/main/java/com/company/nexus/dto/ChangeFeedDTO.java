@@ -0,0 +1,15 @@
+package com.company.nexus.dto;
+
+import java.util.List;
+
+/**
+ * Uma leitura do feed de alterações.
+ *
+ * @param changes As alterações após o "since" pedido, em ordem; vazia se nenhuma chegou até o fim da espera.
+ * @param next    O "since" da próxima leitura.
+ */
+public record ChangeFeedDTO(
+        List<ChangeEventDTO> changes,
+        long next
+) {
+}
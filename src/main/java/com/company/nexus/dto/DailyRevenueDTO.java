@@ -0,0 +1,22 @@
+package com.company.nexus.dto;
+
+import com.company.nexus.model.DailyRevenue;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record DailyRevenueDTO(
+        LocalDate date,
+        long orderCount,
+        long quantity,
+        BigDecimal revenue
+) {
+    public DailyRevenueDTO(DailyRevenue dailyRevenue) {
+        this(
+                dailyRevenue.getId().getDate(),
+                dailyRevenue.getOrderCount(),
+                dailyRevenue.getQuantity(),
+                dailyRevenue.getRevenue()
+        );
+    }
+}
@@ -0,0 +1,13 @@
+package com.company.nexus.dto;
+
+/**
+ * Linha rejeitada em uma importação em lote.
+ *
+ * @param line    O número da linha no arquivo enviado (a partir de 1, contando o cabeçalho do CSV).
+ * @param message O motivo da rejeição.
+ */
+public record ImportErrorDTO(
+        long line,
+        String message
+) {
+}
@@ -0,0 +1,21 @@
+package com.company.nexus.dto;
+
+import java.util.List;
+
+/**
+ * Resultado de uma importação em lote.
+ *
+ * @param processed       Quantidade de linhas lidas (sem o cabeçalho do CSV).
+ * @param imported        Quantidade de linhas gravadas.
+ * @param rejected        Quantidade de linhas rejeitadas.
+ * @param errors          Os erros por linha, limitados a "nexus.import.max-reported-errors".
+ * @param errorsTruncated true se houve mais erros do que os listados em "errors".
+ */
+public record ImportReportDTO(
+        long processed,
+        long imported,
+        long rejected,
+        List<ImportErrorDTO> errors,
+        boolean errorsTruncated
+) {
+}
@@ -1,6 +1,7 @@
 package com.company.nexus.dto;
 
 import com.company.nexus.model.Order;
+import com.company.nexus.model.OrderStatus;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -10,7 +11,7 @@ import java.util.stream.Collectors;
 public record OrderResponseDTO(
         Long id,
         LocalDateTime orderDate,
-        String status,
+        OrderStatus status,
         BigDecimal totalAmount,
         Long customerId,
         String customerName,
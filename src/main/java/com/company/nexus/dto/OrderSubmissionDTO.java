@@ -0,0 +1,45 @@
+package com.company.nexus.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Situação de um pedido enviado pela fila de ingestão assíncrona (POST /api/v1/orders/async).
+ *
+ * @param trackingId  O identificador devolvido no 202 Accepted.
+ * @param status      Em que etapa o pedido está.
+ * @param orderId     O ID do pedido criado (somente em COMPLETED).
+ * @param error       O motivo da falha (somente em FAILED).
+ * @param submittedAt Quando o pedido entrou na fila.
+ * @param updatedAt   Quando o status mudou pela última vez.
+ */
+public record OrderSubmissionDTO(
+        UUID trackingId,
+        Status status,
+        Long orderId,
+        String error,
+        LocalDateTime submittedAt,
+        LocalDateTime updatedAt
+) {
+
+    public enum Status {
+        QUEUED, PROCESSING, COMPLETED, FAILED
+    }
+
+    public static OrderSubmissionDTO queued(UUID trackingId) {
+        LocalDateTime now = LocalDateTime.now();
+        return new OrderSubmissionDTO(trackingId, Status.QUEUED, null, null, now, now);
+    }
+
+    public OrderSubmissionDTO processing() {
+        return new OrderSubmissionDTO(trackingId, Status.PROCESSING, null, null, submittedAt, LocalDateTime.now());
+    }
+
+    public OrderSubmissionDTO completed(Long orderId) {
+        return new OrderSubmissionDTO(trackingId, Status.COMPLETED, orderId, null, submittedAt, LocalDateTime.now());
+    }
+
+    public OrderSubmissionDTO failed(String error) {
+        return new OrderSubmissionDTO(trackingId, Status.FAILED, null, error, submittedAt, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,27 @@
+package com.company.nexus.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * Página de resultados de um endpoint de listagem.
+ *
+ * @param content Os registros da página.
+ * @param size    O tamanho de página solicitado.
+ * @param next    Cursor opaco para a próxima página (parâmetro "cursor"), ou null se esta for a última.
+ *                Na listagem incremental ("modifiedSince") vem sempre preenchido: é a posição de onde continuar,
+ *                agora ou na próxima sincronização.
+ * @param deleted Somente na listagem incremental: os IDs excluídos, na mesma ordem das alterações.
+ */
+public record PageResponseDTO<T>(
+        List<T> content,
+        int size,
+        String next,
+        @JsonInclude(JsonInclude.Include.NON_NULL) List<Long> deleted
+) {
+
+    public PageResponseDTO(List<T> content, int size, String next) {
+        this(content, size, next, null);
+    }
+}
@@ -22,4 +22,22 @@ public record ProductResponseDTO(
                 new SupplierResponseDTO(product.getSupplier())
         );
     }
+
+    /**
+     * Construtor usado pela projeção JPQL das listagens ("select new ..."), que não aceita
+     * construtores aninhados: as colunas do fornecedor chegam "achatadas" na mesma linha.
+     */
+    public ProductResponseDTO(
+            Long id, String name, String description, BigDecimal price, String sku,
+            Long supplierId, String supplierName, String supplierContactPerson, String supplierEmail, String supplierPhone
+    ) {
+        this(
+                id,
+                name,
+                description,
+                price,
+                sku,
+                new SupplierResponseDTO(supplierId, supplierName, supplierContactPerson, supplierEmail, supplierPhone)
+        );
+    }
 }
@@ -0,0 +1,15 @@
+package com.company.nexus.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Resultado da reconstrução do resumo de receita (POST /api/v1/reports/rebuild).
+ *
+ * @param rows        Quantidade de linhas (dimensão, ID, dia) gravadas.
+ * @param completedAt Quando a reconstrução terminou.
+ */
+public record RevenueRebuildDTO(
+        int rows,
+        LocalDateTime completedAt
+) {
+}
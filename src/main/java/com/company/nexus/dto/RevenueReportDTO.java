@@ -0,0 +1,31 @@
+package com.company.nexus.dto;
+
+import com.company.nexus.model.RevenueDimension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Receita de um cliente, funcionário ou produto em um intervalo de dias (pedidos cancelados não contam).
+ *
+ * @param dimension  De quem é a receita.
+ * @param id         O ID do cliente, funcionário ou produto.
+ * @param from       Primeiro dia do intervalo (inclusive).
+ * @param to         Último dia do intervalo (inclusive).
+ * @param orderCount Total de pedidos no intervalo.
+ * @param quantity   Total de unidades vendidas no intervalo.
+ * @param revenue    Receita total no intervalo.
+ * @param days       Os totais por dia, só dos dias com pedidos.
+ */
+public record RevenueReportDTO(
+        RevenueDimension dimension,
+        Long id,
+        LocalDate from,
+        LocalDate to,
+        long orderCount,
+        long quantity,
+        BigDecimal revenue,
+        List<DailyRevenueDTO> days
+) {
+}
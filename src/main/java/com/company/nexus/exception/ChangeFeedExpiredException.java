@@ -0,0 +1,13 @@
+package com.company.nexus.exception;
+
+/**
+ * Lançada quando o "since" pedido ao feed de alterações é anterior aos registros ainda mantidos
+ * ("nexus.changes.retention"), ou o "modifiedSince" de uma listagem é anterior às exclusões ainda mantidas
+ * ("nexus.sync.tombstone-retention"); mapeada para 410 Gone. O consumidor precisa refazer a leitura completa.
+ */
+public class ChangeFeedExpiredException extends RuntimeException {
+
+    public ChangeFeedExpiredException(String message) {
+        super(message);
+    }
+}
@@ -2,10 +2,14 @@ package com.company.nexus.exception;
 
 import com.company.nexus.dto.ErrorResponseDTO;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.filter.ServerHttpObservationFilter;
 
 import java.time.LocalDateTime;
 
@@ -13,7 +17,10 @@ import java.time.LocalDateTime;
 public class GlobalExceptionHandler {
 
     @ExceptionHandler(EntityNotFoundException.class)
-    public ResponseEntity<ErrorResponseDTO> handleEntityNotFound(EntityNotFoundException ex) {
+    public ResponseEntity<ErrorResponseDTO> handleEntityNotFound(
+            EntityNotFoundException ex, HttpServletRequest request
+    ) {
+        recordError(request, ex);
         var errorResponse = new ErrorResponseDTO(
                 HttpStatus.NOT_FOUND.value(),
                 ex.getMessage(),
@@ -23,7 +30,10 @@ public class GlobalExceptionHandler {
     }
 
     @ExceptionHandler(IllegalArgumentException.class)  // Captura exceções de argumento inválido (ex.: e-mail duplicado).
-    public ResponseEntity<ErrorResponseDTO> handleIllegalArgument(IllegalArgumentException ex) {
+    public ResponseEntity<ErrorResponseDTO> handleIllegalArgument(
+            IllegalArgumentException ex, HttpServletRequest request
+    ) {
+        recordError(request, ex);
         var errorResponse = new ErrorResponseDTO(
                 HttpStatus.BAD_REQUEST.value(),
                 ex.getMessage(),
@@ -33,7 +43,8 @@ public class GlobalExceptionHandler {
     }
 
     @ExceptionHandler(IllegalStateException.class)
-    public ResponseEntity<ErrorResponseDTO> handleIllegalState(IllegalStateException ex) {
+    public ResponseEntity<ErrorResponseDTO> handleIllegalState(IllegalStateException ex, HttpServletRequest request) {
+        recordError(request, ex);
         var errorResponse = new ErrorResponseDTO(
                 HttpStatus.CONFLICT.value(),
                 // 409 Conflict é um bom status para uma ação que não pode ser executada no estado atual do recurso.
@@ -42,4 +53,80 @@ public class GlobalExceptionHandler {
         );
         return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
     }
+
+    // Bloqueio otimista (@Version) ou falha de concorrência que persistiu após as novas tentativas.
+    @ExceptionHandler(ConcurrencyFailureException.class)
+    public ResponseEntity<ErrorResponseDTO> handleConcurrencyFailure(
+            ConcurrencyFailureException ex, HttpServletRequest request
+    ) {
+        recordError(request, ex);
+        var errorResponse = new ErrorResponseDTO(
+                HttpStatus.CONFLICT.value(),
+                "The resource was modified concurrently. Reload it and retry.",
+                LocalDateTime.now()
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(IdempotencyKeyReuseException.class)
+    public ResponseEntity<ErrorResponseDTO> handleIdempotencyKeyReuse(
+            IdempotencyKeyReuseException ex, HttpServletRequest request
+    ) {
+        recordError(request, ex);
+        var errorResponse = new ErrorResponseDTO(
+                HttpStatus.UNPROCESSABLE_ENTITY.value(),
+                ex.getMessage(),
+                LocalDateTime.now()
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ErrorResponseDTO> handlePreconditionFailed(
+            PreconditionFailedException ex, HttpServletRequest request
+    ) {
+        recordError(request, ex);
+        var errorResponse = new ErrorResponseDTO(
+                HttpStatus.PRECONDITION_FAILED.value(),
+                ex.getMessage(),
+                LocalDateTime.now()
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.PRECONDITION_FAILED);
+    }
+
+    @ExceptionHandler(ChangeFeedExpiredException.class)
+    public ResponseEntity<ErrorResponseDTO> handleChangeFeedExpired(
+            ChangeFeedExpiredException ex, HttpServletRequest request
+    ) {
+        recordError(request, ex);
+        var errorResponse = new ErrorResponseDTO(
+                HttpStatus.GONE.value(),
+                ex.getMessage(),
+                LocalDateTime.now()
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.GONE);
+    }
+
+    @ExceptionHandler(IngestionQueueFullException.class)
+    public ResponseEntity<ErrorResponseDTO> handleIngestionQueueFull(
+            IngestionQueueFullException ex, HttpServletRequest request
+    ) {
+        recordError(request, ex);
+        var errorResponse = new ErrorResponseDTO(
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                ex.getMessage(),
+                LocalDateTime.now()
+        );
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")  // A fila costuma esvaziar em poucos segundos.
+                .body(errorResponse);
+    }
+
+    /**
+     * Exceções tratadas aqui não chegam ao filtro de observação HTTP: registra-as no contexto da requisição para
+     * que a métrica http.server.requests traga a tag "exception" junto com "status" e "outcome".
+     */
+    private static void recordError(HttpServletRequest request, Exception ex) {
+        ServerHttpObservationFilter.findObservationContext(request).ifPresent(context -> context.setError(ex));
+    }
 }
@@ -0,0 +1,12 @@
+package com.company.nexus.exception;
+
+/**
+ * Lançada quando um Idempotency-Key já usado chega com um corpo de requisição diferente; mapeada para
+ * 422 Unprocessable Entity.
+ */
+public class IdempotencyKeyReuseException extends RuntimeException {
+
+    public IdempotencyKeyReuseException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.company.nexus.exception;
+
+/**
+ * Lançada quando a fila de ingestão de pedidos está cheia; mapeada para 429 Too Many Requests.
+ */
+public class IngestionQueueFullException extends RuntimeException {
+
+    public IngestionQueueFullException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,12 @@
+package com.company.nexus.exception;
+
+/**
+ * Lançada quando o If-Match de uma alteração não corresponde mais ao ETag atual do registro (outra alteração
+ * chegou antes); mapeada para 412 Precondition Failed. O cliente relê o registro e decide o que gravar.
+ */
+public class PreconditionFailedException extends RuntimeException {
+
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,46 @@
+package com.company.nexus.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.MappedSuperclass;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Base dos cadastros sincronizados por "?modifiedSince=": além da versão, registra quando cada linha foi criada e
+ * alterada pela última vez. "updated_at" só muda quando o Hibernate grava um UPDATE (entidade alterada), e é a
+ * primeira coluna da chave (updated_at, id) da paginação incremental.
+ * <p>
+ * Os instantes são truncados em microssegundos, a precisão de TIMESTAMP no banco: o valor em memória é o mesmo que
+ * fica gravado, e o cursor gerado a partir dele posiciona a próxima página sem pular nem repetir linhas.
+ */
+@MappedSuperclass
+@Getter
+public abstract class AuditableEntity extends VersionedEntity {
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public abstract Long getId();
+
+    static LocalDateTime now() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
+    @PrePersist
+    void onPersist() {
+        createdAt = now();
+        updatedAt = createdAt;
+    }
+
+    @PreUpdate
+    void onUpdate() {
+        updatedAt = now();
+    }
+}
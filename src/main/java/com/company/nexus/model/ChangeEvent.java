@@ -0,0 +1,82 @@
+package com.company.nexus.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Registro do outbox transacional: uma alteração de cadastro ou de pedido, gravada na mesma transação da
+ * alteração. O ChangeRelay publica os registros confirmados atribuindo a cada um o próximo "sequence" do feed
+ * (GET /api/v1/changes?since=); até lá, "sequence" é null.
+ * <p>
+ * O "sequence" é atribuído na publicação, e não na gravação, porque os IDs saem da sequência do banco antes do
+ * commit: uma transação com ID menor pode confirmar depois de outra com ID maior, e um consumidor que já leu
+ * além dela a perderia.
+ */
+@Entity
+@Table(
+        name = "change_events",
+        indexes = {
+                // Leitura do feed (sequence > ?) e busca dos ainda não publicados (sequence IS NULL).
+                @Index(name = "idx_change_events_sequence", columnList = "sequence_number", unique = true),
+                // Feed filtrado por tipo e ETag das listagens: max(sequence) e pendentes (sequence IS NULL) por tipo.
+                @Index(name = "idx_change_events_type_sequence", columnList = "entity_type, sequence_number")
+        }
+)
+@Getter
+@NoArgsConstructor
+public class ChangeEvent {
+
+    public enum EntityType {
+        CUSTOMER, EMPLOYEE, PRODUCT, SUPPLIER, ORDER
+    }
+
+    public enum Operation {
+        CREATED, UPDATED, DELETED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "change_events_seq")
+    @SequenceGenerator(name = "change_events_seq", sequenceName = "change_events_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "sequence_number")
+    private Long sequence;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false, length = 16)
+    private EntityType entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Operation operation;
+
+    // O DTO de resposta da entidade em JSON, como o GET devolveria; null em DELETED.
+    @Column(length = 1_048_576)
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+
+    public ChangeEvent(EntityType entityType, Long entityId, Operation operation, String payload,
+                       LocalDateTime createdAt) {
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.operation = operation;
+        this.payload = payload;
+        this.createdAt = createdAt;
+    }
+
+    public void publish(long sequence, LocalDateTime publishedAt) {
+        this.sequence = sequence;
+        this.publishedAt = publishedAt;
+    }
+}
@@ -2,17 +2,25 @@ package com.company.nexus.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
-@Table(name = "customers")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table(name = "customers", indexes = {
+        // Listagem incremental (?modifiedSince=): (updated_at, id) > (?, ?) order by updated_at, id.
+        @Index(name = "idx_customers_updated_at", columnList = "updated_at, id")
+})
 @Getter @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-@EqualsAndHashCode(of = "id")
-public class Customer {
+@EqualsAndHashCode(of = "id", callSuper = false)
+public class Customer extends AuditableEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "customers_seq")
+    @SequenceGenerator(name = "customers_seq", sequenceName = "customers_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "first_name", nullable = false)
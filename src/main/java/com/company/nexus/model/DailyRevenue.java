@@ -0,0 +1,54 @@
+package com.company.nexus.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.math.BigDecimal;
+
+/**
+ * Resumo desnormalizado dos pedidos: quantidade de pedidos, de itens e receita de um cliente, funcionário ou
+ * produto em um dia. Pedidos cancelados não contam. Mantido incrementalmente pelo RevenueSummaryWriter;
+ * os relatórios leem só esta tabela, sem agregar orders e order_items.
+ */
+@Entity
+@Table(name = "daily_revenue")
+@Getter
+@NoArgsConstructor
+public class DailyRevenue implements Persistable<DailyRevenueId> {
+
+    @EmbeddedId
+    private DailyRevenueId id;
+
+    @Column(name = "order_count", nullable = false)
+    private long orderCount;
+
+    @Column(nullable = false)
+    private long quantity;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal revenue;
+
+    // A chave é atribuída pela aplicação: sem isto, save() faria um SELECT (merge) antes de cada INSERT.
+    @Transient
+    private boolean stored;
+
+    public DailyRevenue(DailyRevenueId id, long orderCount, long quantity, BigDecimal revenue) {
+        this.id = id;
+        this.orderCount = orderCount;
+        this.quantity = quantity;
+        this.revenue = revenue;
+    }
+
+    @Override
+    public boolean isNew() {
+        return !stored;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markStored() {
+        stored = true;
+    }
+}
@@ -0,0 +1,73 @@
+package com.company.nexus.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Resposta já entregue para um Idempotency-Key, guardada até "expiresAt" para que repetições da mesma requisição
+ * (ex.: o cliente reenviou após um timeout) recebam a resposta original em vez de executá-la de novo.
+ * Gravada na mesma transação da operação: ou ambas são confirmadas, ou nenhuma.
+ */
+@Entity
+@Table(
+        name = "idempotency_keys",
+        indexes = @Index(name = "idx_idempotency_keys_expires_at", columnList = "expires_at")  // Limpeza periódica.
+)
+@Getter
+@NoArgsConstructor
+public class IdempotencyRecord implements Persistable<String> {
+
+    @Id
+    @Column(name = "idempotency_key", length = 255)
+    private String idempotencyKey;
+
+    // SHA-256 do corpo da requisição: a mesma chave com outro corpo é recusada.
+    @Column(nullable = false, length = 64)
+    private String fingerprint;
+
+    @Column(name = "response_body", nullable = false, length = 1_048_576)
+    private String responseBody;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    // A chave é atribuída pela aplicação: sem isto, save() faria um SELECT (merge) antes de cada INSERT.
+    @Transient
+    private boolean stored;
+
+    public IdempotencyRecord(String idempotencyKey, String fingerprint, String responseBody,
+                             LocalDateTime createdAt, LocalDateTime expiresAt) {
+        this.idempotencyKey = idempotencyKey;
+        this.fingerprint = fingerprint;
+        this.responseBody = responseBody;
+        this.createdAt = createdAt;
+        this.expiresAt = expiresAt;
+    }
+
+    public boolean isExpired(LocalDateTime now) {
+        return expiresAt.isBefore(now);
+    }
+
+    @Override
+    public String getId() {
+        return idempotencyKey;
+    }
+
+    @Override
+    public boolean isNew() {
+        return !stored;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markStored() {
+        stored = true;
+    }
+}
@@ -12,21 +12,30 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "orders")
+@Table(
+        name = "orders",
+        indexes = {
+                // Histórico de pedidos por cliente (endpoint mais acessado): busca e ordenação saem direto do índice.
+                @Index(name = "idx_orders_customer_order_date", columnList = "customer_id, order_date DESC"),
+                // Listagem por status (GET /api/v1/orders?status=), dos pedidos mais antigos para os mais recentes.
+                @Index(name = "idx_orders_status_order_date", columnList = "status, order_date")
+        }
+)
 @Getter @Setter
 @NoArgsConstructor
-@EqualsAndHashCode(of = "id")
-public class Order {
+@EqualsAndHashCode(of = "id", callSuper = false)
+public class Order extends VersionedEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "order_date", nullable = false)
     private LocalDateTime orderDate;
 
-    @Column(nullable = false)
-    private String status;
+    @Column(nullable = false)  // SMALLINT via OrderStatusConverter.
+    private OrderStatus status;
 
     @Column(name = "total_amount")
     private BigDecimal totalAmount;
@@ -0,0 +1,71 @@
+package com.company.nexus.model;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Ciclo de vida de um pedido e suas transições válidas:
+ * <pre>
+ * PENDING_PAYMENT ──pay──▶ PAID ──ship──▶ SHIPPED ──deliver──▶ DELIVERED
+ *        │
+ *        └──cancel──▶ CANCELLED
+ * </pre>
+ * Persistido como SMALLINT pelo {@link OrderStatusConverter}. Os códigos fazem parte do esquema do banco:
+ * nunca reaproveite nem renumere um código existente.
+ */
+public enum OrderStatus {
+
+    PENDING_PAYMENT(1),
+    PAID(2),
+    SHIPPED(3),
+    DELIVERED(4),
+    CANCELLED(5);
+
+    private static final Map<OrderStatus, Set<OrderStatus>> TRANSITIONS = new EnumMap<>(OrderStatus.class);
+    private static final Map<OrderStatus, Set<OrderStatus>> SOURCES = new EnumMap<>(OrderStatus.class);
+
+    static {
+        TRANSITIONS.put(PENDING_PAYMENT, EnumSet.of(PAID, CANCELLED));
+        TRANSITIONS.put(PAID, EnumSet.of(SHIPPED));
+        TRANSITIONS.put(SHIPPED, EnumSet.of(DELIVERED));
+        TRANSITIONS.put(DELIVERED, EnumSet.noneOf(OrderStatus.class));
+        TRANSITIONS.put(CANCELLED, EnumSet.noneOf(OrderStatus.class));
+
+        for (OrderStatus status : values()) {
+            SOURCES.put(status, EnumSet.noneOf(OrderStatus.class));
+        }
+        TRANSITIONS.forEach((from, targets) -> targets.forEach(to -> SOURCES.get(to).add(from)));
+    }
+
+    private final short code;
+
+    OrderStatus(int code) {
+        this.code = (short) code;
+    }
+
+    public short code() {
+        return code;
+    }
+
+    public static OrderStatus fromCode(short code) {
+        return Arrays.stream(values())
+                .filter(status -> status.code == code)
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown order status code: " + code));
+    }
+
+    public boolean canTransitionTo(OrderStatus target) {
+        return TRANSITIONS.get(this).contains(target);
+    }
+
+    /**
+     * Os status a partir dos quais um pedido pode ir para este (vazio para PENDING_PAYMENT, o status inicial).
+     */
+    public Set<OrderStatus> sources() {
+        return Collections.unmodifiableSet(SOURCES.get(this));
+    }
+}
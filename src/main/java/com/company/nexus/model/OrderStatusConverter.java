@@ -0,0 +1,22 @@
+package com.company.nexus.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Grava o {@link OrderStatus} como o seu código SMALLINT (2 bytes por linha, em vez do nome do status).
+ * Diferente de @Enumerated(ORDINAL), o código não muda se a ordem das constantes do enum mudar.
+ */
+@Converter(autoApply = true)
+public class OrderStatusConverter implements AttributeConverter<OrderStatus, Short> {
+
+    @Override
+    public Short convertToDatabaseColumn(OrderStatus status) {
+        return status == null ? null : status.code();
+    }
+
+    @Override
+    public OrderStatus convertToEntityAttribute(Short code) {
+        return code == null ? null : OrderStatus.fromCode(code);
+    }
+}
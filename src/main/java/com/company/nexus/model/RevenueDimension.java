@@ -0,0 +1,8 @@
+package com.company.nexus.model;
+
+/**
+ * Por quem a receita diária é somada no resumo de pedidos ({@link DailyRevenue}).
+ */
+public enum RevenueDimension {
+    CUSTOMER, EMPLOYEE, PRODUCT
+}
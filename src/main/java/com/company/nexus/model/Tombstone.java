@@ -0,0 +1,45 @@
+package com.company.nexus.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Registro da exclusão de um cadastro. A linha excluída some da tabela, então é por aqui que a listagem
+ * incremental ("?modifiedSince=") informa os IDs removidos, na mesma ordem (deleted_at, entity_id) das alterações.
+ */
+@Entity
+@Table(
+        name = "tombstones",
+        indexes = {
+                // Leitura incremental por tipo: entity_type = ? and (deleted_at, entity_id) > (?, ?).
+                @Index(name = "idx_tombstones_type_deleted_at", columnList = "entity_type, deleted_at, entity_id")
+        }
+)
+@Getter
+@NoArgsConstructor
+public class Tombstone {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tombstones_seq")
+    @SequenceGenerator(name = "tombstones_seq", sequenceName = "tombstones_seq", allocationSize = 50)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false, length = 16)
+    private ChangeEvent.EntityType entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+
+    public Tombstone(ChangeEvent.EntityType entityType, Long entityId) {
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.deletedAt = AuditableEntity.now();
+    }
+}
@@ -0,0 +1,23 @@
+package com.company.nexus.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.MappedSuperclass;
+import jakarta.persistence.Version;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Base das entidades alteradas concorrentemente: a coluna "version" habilita o bloqueio otimista do Hibernate.
+ * <p>
+ * Todo UPDATE leva "WHERE version = ?" e incrementa a versão; se outra transação gravou antes, nenhuma linha é
+ * atualizada e o commit falha com OptimisticLockingFailureException (409) em vez de sobrescrever a alteração.
+ * Nenhuma linha fica bloqueada entre a leitura e a gravação.
+ */
+@MappedSuperclass
+@Getter @Setter
+public abstract class VersionedEntity {
+
+    @Version
+    @Column(nullable = false)
+    private Long version;
+}
@@ -0,0 +1,22 @@
+package com.company.nexus.monitoring;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Liga o {@link SqlStatementRecorder} ao Hibernate, alimentando o orçamento de SQL por requisição.
+ */
+@Configuration
+public class SqlBudgetConfiguration {
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementRecorderCustomizer() {
+        SqlStatementRecorder recorder = new SqlStatementRecorder();
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, recorder);
+            properties.put(AvailableSettings.INTERCEPTOR, recorder);
+        };
+    }
+}
@@ -0,0 +1,83 @@
+package com.company.nexus.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Orçamento de SQL por requisição: conta as instruções JDBC e as entidades carregadas de cada requisição HTTP e
+ * registra (WARN + métricas) as que passam de "nexus.sql-budget.max-statements" ou que repetem o mesmo SELECT
+ * com parâmetros diferentes (suspeita de N+1).
+ * <p>
+ * Métricas: nexus.http.sql.statements (por endpoint), nexus.http.sql.budget.exceeded e
+ * nexus.http.sql.repeated.selects.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "nexus.sql-budget.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlBudgetFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+    private final int maxStatements;
+    private final int repeatedSelectThreshold;
+
+    public SqlBudgetFilter(MeterRegistry meterRegistry,
+                           @Value("${nexus.sql-budget.max-statements:10}") int maxStatements,
+                           @Value("${nexus.sql-budget.repeated-select-threshold:3}") int repeatedSelectThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.maxStatements = maxStatements;
+        this.repeatedSelectThreshold = repeatedSelectThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlStatementStats stats = SqlStatementStats.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlStatementStats.stop();
+            request.setAttribute(SqlStatementStats.REQUEST_ATTRIBUTE, stats);
+            evaluate(request, stats);
+        }
+    }
+
+    private void evaluate(HttpServletRequest request, SqlStatementStats stats) {
+        // O padrão da rota (ex.: /api/v1/orders/{id}) mantém a cardinalidade das tags sob controle.
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        String endpoint = request.getMethod() + " " + uri;
+
+        DistributionSummary.builder("nexus.http.sql.statements")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.statements());
+
+        if (stats.statements() > maxStatements) {
+            meterRegistry.counter("nexus.http.sql.budget.exceeded", "method", request.getMethod(), "uri", uri)
+                    .increment();
+            log.warn("SQL budget exceeded on {}: {} (budget {})", endpoint, stats, maxStatements);
+        }
+
+        Map<String, Integer> repeatedSelects = stats.repeatedSelects(repeatedSelectThreshold);
+        if (!repeatedSelects.isEmpty()) {
+            meterRegistry.counter("nexus.http.sql.repeated.selects", "method", request.getMethod(), "uri", uri)
+                    .increment();
+            repeatedSelects.forEach((sql, count) ->
+                    log.warn("Possible N+1 on {}: same SELECT executed {} times: {}", endpoint, count, sql));
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.company.nexus.monitoring;
+
+import org.hibernate.Interceptor;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.type.Type;
+
+/**
+ * Registrado no Hibernate como StatementInspector (cada instrução JDBC preparada) e Interceptor (cada entidade
+ * carregada). Só conta quando há uma requisição sendo medida; fora dela o custo é um ThreadLocal vazio.
+ */
+class SqlStatementRecorder implements StatementInspector, Interceptor {
+
+    @Override
+    public String inspect(String sql) {
+        SqlStatementStats.current().ifPresent(stats -> stats.recordStatement(sql));
+        return sql;
+    }
+
+    @Override
+    public boolean onLoad(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+        SqlStatementStats.current().ifPresent(SqlStatementStats::recordEntityLoad);
+        return false;
+    }
+}
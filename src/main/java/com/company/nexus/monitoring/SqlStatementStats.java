@@ -0,0 +1,77 @@
+package com.company.nexus.monitoring;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Contadores de SQL de uma requisição HTTP: instruções JDBC preparadas, entidades carregadas e quantas vezes
+ * cada SQL foi executado.
+ * <p>
+ * Vale para a thread da requisição (ThreadLocal aberto pelo {@link SqlBudgetFilter}); ao final, fica disponível
+ * no atributo {@link #REQUEST_ATTRIBUTE}, que os testes usam para fixar a quantidade de consultas de cada endpoint.
+ */
+public final class SqlStatementStats {
+
+    public static final String REQUEST_ATTRIBUTE = SqlStatementStats.class.getName();
+
+    private static final ThreadLocal<SqlStatementStats> CURRENT = new ThreadLocal<>();
+
+    private final Map<String, Integer> executions = new LinkedHashMap<>();
+    private int statements;
+    private int entityLoads;
+
+    private SqlStatementStats() {
+    }
+
+    static SqlStatementStats start() {
+        SqlStatementStats stats = new SqlStatementStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static void stop() {
+        CURRENT.remove();
+    }
+
+    static Optional<SqlStatementStats> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    void recordStatement(String sql) {
+        statements++;
+        executions.merge(sql, 1, Integer::sum);
+    }
+
+    void recordEntityLoad() {
+        entityLoads++;
+    }
+
+    public int statements() {
+        return statements;
+    }
+
+    public int entityLoads() {
+        return entityLoads;
+    }
+
+    /**
+     * SELECTs idênticos (o SQL já vem parametrizado com "?") executados pelo menos "threshold" vezes na mesma
+     * requisição: o padrão típico de N+1, em que só os parâmetros mudam entre as execuções.
+     * INSERT/UPDATE/DELETE ficam de fora, pois lotes JDBC repetem o mesmo SQL legitimamente.
+     */
+    public Map<String, Integer> repeatedSelects(int threshold) {
+        return Collections.unmodifiableMap(executions.entrySet().stream()
+                .filter(entry -> entry.getValue() >= threshold)
+                .filter(entry -> entry.getKey().stripLeading().toLowerCase(Locale.ROOT).startsWith("select"))
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> a, LinkedHashMap::new)));
+    }
+
+    @Override
+    public String toString() {
+        return statements + " statements, " + entityLoads + " entity loads";
+    }
+}
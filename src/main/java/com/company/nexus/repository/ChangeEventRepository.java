@@ -0,0 +1,76 @@
+package com.company.nexus.repository;
+
+import com.company.nexus.model.ChangeEvent;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface ChangeEventRepository extends JpaRepository<ChangeEvent, Long> {
+
+    // Os confirmados e ainda não publicados, na ordem em que foram gravados. O FOR UPDATE impede que dois
+    // relays (um por instância) publiquem os mesmos registros.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select e from ChangeEvent e where e.sequence is null order by e.id")
+    List<ChangeEvent> findUnpublished(Pageable pageable);
+
+    @Query("select coalesce(max(e.sequence), 0) from ChangeEvent e")
+    long findLastSequence();
+
+    /**
+     * Posição do feed para o ETag das listagens (ChangeFeedService.collectionTag), em uma única consulta.
+     */
+    interface CollectionPosition {
+
+        // A última posição publicada desses tipos; null se nenhum registro deles foi mantido.
+        Long getLastSequence();
+
+        // A última posição publicada de todos os tipos.
+        Long getLastOverallSequence();
+
+        // Algum registro desses tipos ainda não publicado, ou null.
+        Long getPendingId();
+    }
+
+    @Query("""
+            select max(e.sequence) as lastSequence,
+                   (select max(a.sequence) from ChangeEvent a) as lastOverallSequence,
+                   (select min(p.id) from ChangeEvent p
+                    where p.entityType in :entityTypes and p.sequence is null) as pendingId
+            from ChangeEvent e
+            where e.entityType in :entityTypes""")
+    CollectionPosition findCollectionPosition(@Param("entityTypes") Collection<ChangeEvent.EntityType> entityTypes);
+
+    // null se nenhum registro publicado foi mantido.
+    @Query("select min(e.sequence) from ChangeEvent e")
+    Long findFirstSequence();
+
+    /*
+     * Leitura do feed: seguem o índice único em sequence_number a partir de "since", sem OFFSET.
+     */
+
+    List<ChangeEvent> findBySequenceGreaterThanOrderBySequenceAsc(Long since, Pageable pageable);
+
+    List<ChangeEvent> findByEntityTypeAndSequenceGreaterThanOrderBySequenceAsc(
+            ChangeEvent.EntityType entityType, Long since, Pageable pageable
+    );
+
+    /**
+     * Remove os registros publicados antes de "before", mantendo sempre o último: é por ele que o feed sabe até
+     * onde os registros foram removidos.
+     */
+    @Modifying
+    @Query("""
+            delete from ChangeEvent e
+            where e.publishedAt < :before
+              and e.sequence < (select max(last.sequence) from ChangeEvent last)
+            """)
+    int deletePublishedBefore(@Param("before") LocalDateTime before);
+}
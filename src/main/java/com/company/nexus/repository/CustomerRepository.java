@@ -1,9 +1,21 @@
 package com.company.nexus.repository;
 
+import com.company.nexus.dto.CustomerResponseDTO;
 import com.company.nexus.model.Customer;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 // Anotação @Repository opcional, pois Spring Data JPA já a infere.
 public interface CustomerRepository extends JpaRepository<Customer, Long> {
@@ -11,4 +23,48 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
     // 1. Customer: A entidade que este repositório gerencia.
     // 2. Long: O tipo da chave primária (PK) da entidade Customer.
     Optional<Customer> findByEmail(String email);
+
+    @Query("select c.email from Customer c where c.email in :emails")
+    Set<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    // Projeções para as listagens: selecionam só as colunas do DTO e não passam pelo contexto de persistência
+    // (sem snapshots para dirty checking). A ordenação vem do Pageable.
+    @Query("""
+            select new com.company.nexus.dto.CustomerResponseDTO(
+                    c.id, c.firstName, c.lastName, c.email, c.phone, c.address
+            )
+            from Customer c""")
+    Slice<CustomerResponseDTO> findAllProjectedBy(Pageable pageable);
+
+    @Query("""
+            select new com.company.nexus.dto.CustomerResponseDTO(
+                    c.id, c.firstName, c.lastName, c.email, c.phone, c.address
+            )
+            from Customer c
+            where c.id > :id""")
+    Slice<CustomerResponseDTO> findProjectedByIdGreaterThan(@Param("id") Long id, Pageable pageable);
+
+    // Exportação completa: o Stream percorre o ResultSet com fetch size, sem materializar a tabela.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+            select new com.company.nexus.dto.CustomerResponseDTO(
+                    c.id, c.firstName, c.lastName, c.email, c.phone, c.address
+            )
+            from Customer c
+            order by c.id""")
+    Stream<CustomerResponseDTO> streamAllProjectedBy();
+
+    // Listagem incremental (?modifiedSince=): entidades, e não projeções, porque o cursor usa o updatedAt.
+    // "until" deixa de fora as alterações recentes demais, que podem ainda ter transações anteriores em aberto.
+    @Query("""
+            select c from Customer c
+            where c.updatedAt <= :until
+              and (c.updatedAt > :updatedAt or (c.updatedAt = :updatedAt and c.id > :id))
+            order by c.updatedAt, c.id""")
+    Slice<Customer> findChangedAfter(@Param("updatedAt") LocalDateTime updatedAt, @Param("id") Long id,
+                                     @Param("until") LocalDateTime until, Pageable pageable);
+
+    // ETag de GET /{id} (EntityTags): só a versão, sem carregar o cliente.
+    @Query("select str(c.version) from Customer c where c.id = :id")
+    Optional<String> findTagById(@Param("id") Long id);
 }
@@ -0,0 +1,94 @@
+package com.company.nexus.repository;
+
+import com.company.nexus.model.DailyRevenue;
+import com.company.nexus.model.DailyRevenueId;
+import com.company.nexus.model.RevenueDimension;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+public interface DailyRevenueRepository extends JpaRepository<DailyRevenue, DailyRevenueId> {
+
+    // Intervalo contíguo da chave primária (dimensão, ID, dia): o custo depende só do número de dias.
+    @Query("""
+            select r from DailyRevenue r
+            where r.id.dimension = :dimension and r.id.dimensionId = :dimensionId
+              and r.id.date between :from and :to
+            order by r.id.date
+            """)
+    List<DailyRevenue> findRange(
+            @Param("dimension") RevenueDimension dimension,
+            @Param("dimensionId") Long dimensionId,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to
+    );
+
+    /**
+     * Soma um delta a uma linha existente, sem lê-la antes.
+     *
+     * @return 0 se a linha ainda não existe (o chamador a insere).
+     */
+    @Modifying
+    @Query("""
+            update DailyRevenue r
+            set r.orderCount = r.orderCount + :orders, r.quantity = r.quantity + :quantity,
+                r.revenue = r.revenue + :revenue
+            where r.id.dimension = :dimension and r.id.dimensionId = :dimensionId and r.id.date = :date
+            """)
+    int increment(
+            @Param("dimension") RevenueDimension dimension,
+            @Param("dimensionId") Long dimensionId,
+            @Param("date") LocalDate date,
+            @Param("orders") long orders,
+            @Param("quantity") long quantity,
+            @Param("revenue") BigDecimal revenue
+    );
+
+    /*
+     * Reconstrução completa (backfill): um INSERT ... SELECT por dimensão, agregando os pedidos não cancelados
+     * no próprio banco. SQL nativo porque o JPQL não insere em chaves compostas a partir de um SELECT agregado.
+     */
+
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            INSERT INTO daily_revenue (dimension, dimension_id, revenue_date, order_count, quantity, revenue)
+            SELECT 'CUSTOMER', o.customer_id, CAST(o.order_date AS DATE), COUNT(*),
+                   COALESCE(SUM(q.quantity), 0), COALESCE(SUM(o.total_amount), 0)
+            FROM orders o
+            LEFT JOIN (SELECT order_id, SUM(quantity) AS quantity FROM order_items GROUP BY order_id) q
+                   ON q.order_id = o.id
+            WHERE o.status <> :cancelled
+            GROUP BY o.customer_id, CAST(o.order_date AS DATE)
+            """)
+    int insertCustomerTotals(@Param("cancelled") short cancelled);
+
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            INSERT INTO daily_revenue (dimension, dimension_id, revenue_date, order_count, quantity, revenue)
+            SELECT 'EMPLOYEE', o.employee_id, CAST(o.order_date AS DATE), COUNT(*),
+                   COALESCE(SUM(q.quantity), 0), COALESCE(SUM(o.total_amount), 0)
+            FROM orders o
+            LEFT JOIN (SELECT order_id, SUM(quantity) AS quantity FROM order_items GROUP BY order_id) q
+                   ON q.order_id = o.id
+            WHERE o.status <> :cancelled AND o.employee_id IS NOT NULL
+            GROUP BY o.employee_id, CAST(o.order_date AS DATE)
+            """)
+    int insertEmployeeTotals(@Param("cancelled") short cancelled);
+
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            INSERT INTO daily_revenue (dimension, dimension_id, revenue_date, order_count, quantity, revenue)
+            SELECT 'PRODUCT', i.product_id, CAST(o.order_date AS DATE), COUNT(DISTINCT o.id),
+                   SUM(i.quantity), SUM(i.quantity * i.unit_price)
+            FROM order_items i
+            JOIN orders o ON o.id = i.order_id
+            WHERE o.status <> :cancelled
+            GROUP BY i.product_id, CAST(o.order_date AS DATE)
+            """)
+    int insertProductTotals(@Param("cancelled") short cancelled);
+}
@@ -1,10 +1,42 @@
 package com.company.nexus.repository;
 
+import com.company.nexus.dto.EmployeeResponseDTO;
 import com.company.nexus.model.Employee;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 public interface EmployeeRepository extends JpaRepository<Employee, Long> {
     Optional<Employee> findByEmail(String email);
+
+    @Query("""
+            select new com.company.nexus.dto.EmployeeResponseDTO(
+                    e.id, e.firstName, e.lastName, e.role, e.email, e.hireDate
+            )
+            from Employee e""")
+    Slice<EmployeeResponseDTO> findAllProjectedBy(Pageable pageable);
+
+    @Query("""
+            select new com.company.nexus.dto.EmployeeResponseDTO(
+                    e.id, e.firstName, e.lastName, e.role, e.email, e.hireDate
+            )
+            from Employee e
+            where e.id > :id""")
+    Slice<EmployeeResponseDTO> findProjectedByIdGreaterThan(@Param("id") Long id, Pageable pageable);
+
+    @Query("""
+            select e from Employee e
+            where e.updatedAt <= :until
+              and (e.updatedAt > :updatedAt or (e.updatedAt = :updatedAt and e.id > :id))
+            order by e.updatedAt, e.id""")
+    Slice<Employee> findChangedAfter(@Param("updatedAt") LocalDateTime updatedAt, @Param("id") Long id,
+                                     @Param("until") LocalDateTime until, Pageable pageable);
+
+    @Query("select str(e.version) from Employee e where e.id = :id")
+    Optional<String> findTagById(@Param("id") Long id);
 }
@@ -1,16 +1,125 @@
 package com.company.nexus.repository;
 
 import com.company.nexus.model.Order;
+import com.company.nexus.model.OrderStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
-public interface OrderRepository extends JpaRepository<Order, Long> {
+public interface OrderRepository extends JpaRepository<Order, Long>, OrderRepositoryCustom {
     /**
-     * Busca todos os pedidos associados a um "ID" de cliente específico.
+     * Busca o histórico de pedidos de um cliente, do mais recente para o mais antigo.
+     * Apoiado pelo índice (customer_id, order_date DESC) declarado em {@link Order}.
      *
      * @param customerId O ID do cliente.
-     * @return Uma lista de Pedidos pertencentes ao cliente.
+     * @param pageable   Página e tamanho da página (a ordenação é fixa).
+     * @return Uma fatia (Slice) dos pedidos pertencentes ao cliente.
      */
-    Optional<Order> findByCustomerId(Long customerId);
+    @EntityGraph(attributePaths = {"customer", "employee"})
+    Slice<Order> findByCustomerIdOrderByOrderDateDescIdDesc(Long customerId, Pageable pageable);
+
+    /**
+     * Continua o histórico de um cliente a partir do último pedido entregue (paginação por chave).
+     */
+    @EntityGraph(attributePaths = {"customer", "employee"})
+    @Query("""
+            select o from Order o
+            where o.customer.id = :customerId
+              and (o.orderDate < :orderDate or (o.orderDate = :orderDate and o.id < :id))
+            order by o.orderDate desc, o.id desc""")
+    Slice<Order> findByCustomerIdBefore(
+            @Param("customerId") Long customerId,
+            @Param("orderDate") LocalDateTime orderDate,
+            @Param("id") Long id,
+            Pageable pageable
+    );
+
+    /**
+     * Busca um pedido já com cliente, funcionário, itens e produtos em uma única consulta.
+     */
+    @EntityGraph(attributePaths = {"customer", "employee", "items", "items.product"})
+    Optional<Order> findWithDetailsById(Long id);
+
+    // Nas listagens paginadas só as associações *-to-one entram no JOIN, para que o LIMIT continue no SQL.
+    @EntityGraph(attributePaths = {"customer", "employee"})
+    Slice<Order> findAllBy(Pageable pageable);
+
+    @EntityGraph(attributePaths = {"customer", "employee"})
+    Slice<Order> findByIdGreaterThan(Long id, Pageable pageable);
+
+    /**
+     * Pedidos em um status, dos mais antigos para os mais recentes (ex.: pagamentos pendentes há mais tempo).
+     * Apoiado pelo índice (status, order_date) declarado em {@link Order}.
+     */
+    @EntityGraph(attributePaths = {"customer", "employee"})
+    Slice<Order> findByStatusOrderByOrderDateAscIdAsc(OrderStatus status, Pageable pageable);
+
+    /**
+     * Continua a listagem por status a partir do último pedido entregue (paginação por chave).
+     */
+    @EntityGraph(attributePaths = {"customer", "employee"})
+    @Query("""
+            select o from Order o
+            where o.status = :status
+              and (o.orderDate > :orderDate or (o.orderDate = :orderDate and o.id > :id))
+            order by o.orderDate, o.id""")
+    Slice<Order> findByStatusAfter(
+            @Param("status") OrderStatus status,
+            @Param("orderDate") LocalDateTime orderDate,
+            @Param("id") Long id,
+            Pageable pageable
+    );
+
+    /**
+     * Inicializa, em uma única consulta, os itens (e respectivos produtos) de pedidos já carregados
+     * na sessão. Complementa as listagens paginadas sem o N+1 das coleções LAZY.
+     *
+     * @param ids Os IDs dos pedidos da página.
+     * @return Os mesmos pedidos, com a coleção de itens inicializada.
+     */
+    @Query("select distinct o from Order o left join fetch o.items i left join fetch i.product where o.id in :ids")
+    List<Order> fetchItemsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Transição de status condicional: só altera o pedido se ele ainda estiver em um dos status esperados.
+     * A verificação e a gravação são um único UPDATE atômico, sem SELECT ... FOR UPDATE; a versão é incrementada
+     * para que gravações otimistas concorrentes do mesmo pedido falhem em vez de sobrescrevê-lo.
+     *
+     * @return 1 se a transição foi aplicada; 0 se o pedido não existe ou já estava em outro status.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Order o set o.status = :target, o.version = o.version + 1 where o.id = :id and o.status in :expected")
+    int updateStatus(
+            @Param("id") Long id,
+            @Param("expected") Collection<OrderStatus> expected,
+            @Param("target") OrderStatus target
+    );
+
+    @Query("select o.status from Order o where o.id = :id")
+    Optional<OrderStatus> findStatusById(@Param("id") Long id);
+
+    /**
+     * ETag de GET /{id}: versões do pedido, do cliente e do funcionário, mais a soma das versões dos produtos
+     * dos itens (a resposta traz nomes de todos eles). Versões só crescem, então a soma muda a cada alteração.
+     */
+    @Query("""
+            select str(o.version) || '.' || str(c.version) || '.' || coalesce(str(e.version), '-')
+                   || '.' || str(coalesce(sum(p.version), 0))
+            from Order o
+            join o.customer c
+            left join o.employee e
+            left join o.items i
+            left join i.product p
+            where o.id = :id
+            group by o.version, c.version, e.version""")
+    Optional<String> findTagById(@Param("id") Long id);
 }
@@ -0,0 +1,37 @@
+package com.company.nexus.repository;
+
+import com.company.nexus.model.OrderStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public interface OrderRepositoryCustom {
+
+    // Campos aceitos em GET /api/v1/orders?fields=, na ordem de OrderResponseDTO, e a associação de ?embed=.
+    List<String> SPARSE_FIELDS = List.of(
+            "id", "orderDate", "status", "totalAmount", "customerId", "customerName", "employeeId", "employeeName"
+    );
+    String ITEMS = "items";
+
+    /**
+     * Listagem parcial (?fields= e ?embed=), ordenada por ID. O SELECT traz só as colunas pedidas: cliente e
+     * funcionário só entram no JOIN quando seus nomes são pedidos, e os itens só são lidos (em uma segunda consulta,
+     * para toda a página) quando incluídos. Cada registro é um mapa com os campos pedidos, na ordem de
+     * OrderResponseDTO.
+     *
+     * @param afterId O último ID entregue (cursor), ou null para a paginação por OFFSET.
+     */
+    Slice<Map<String, Object>> findSparse(Set<String> fields, boolean withItems, Long afterId, Pageable pageable);
+
+    /**
+     * Como {@link #findSparse}, para os pedidos em um status, ordenados por (orderDate, id).
+     *
+     * @param afterOrderDate A data do último pedido entregue (cursor), ou null para a paginação por OFFSET.
+     */
+    Slice<Map<String, Object>> findSparseByStatus(Set<String> fields, boolean withItems, OrderStatus status,
+                                                  LocalDateTime afterOrderDate, Long afterId, Pageable pageable);
+}
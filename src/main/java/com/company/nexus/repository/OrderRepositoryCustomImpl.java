@@ -0,0 +1,129 @@
+package com.company.nexus.repository;
+
+import com.company.nexus.dto.OrderItemResponseDTO;
+import com.company.nexus.model.OrderStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+class OrderRepositoryCustomImpl implements OrderRepositoryCustom {
+
+    // Colunas de cada campo; os nomes são montados a partir de nome e sobrenome, como em OrderResponseDTO.
+    private static final Map<String, List<String>> COLUMNS = Map.of(
+            "id", List.of("o.id"),
+            "orderDate", List.of("o.orderDate"),
+            "status", List.of("o.status"),
+            "totalAmount", List.of("o.totalAmount"),
+            "customerId", List.of("o.customer.id"),  // A chave estrangeira basta: sem JOIN.
+            "customerName", List.of("c.firstName", "c.lastName"),
+            "employeeId", List.of("o.employee.id"),
+            "employeeName", List.of("e.firstName", "e.lastName")
+    );
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Slice<Map<String, Object>> findSparse(Set<String> fields, boolean withItems, Long afterId,
+                                                 Pageable pageable) {
+        String where = afterId != null ? " where o.id > :afterId" : "";
+        TypedQuery<Tuple> query = createQuery(fields, where + " order by o.id");
+        if (afterId != null) {
+            query.setParameter("afterId", afterId);
+        }
+        return find(query, fields, withItems, pageable);
+    }
+
+    @Override
+    public Slice<Map<String, Object>> findSparseByStatus(Set<String> fields, boolean withItems, OrderStatus status,
+                                                         LocalDateTime afterOrderDate, Long afterId,
+                                                         Pageable pageable) {
+        String where = afterOrderDate != null
+                ? " where o.status = :status"
+                  + " and (o.orderDate > :orderDate or (o.orderDate = :orderDate and o.id > :afterId))"
+                : " where o.status = :status";
+        TypedQuery<Tuple> query = createQuery(fields, where + " order by o.orderDate, o.id")
+                .setParameter("status", status);
+        if (afterOrderDate != null) {
+            query.setParameter("orderDate", afterOrderDate).setParameter("afterId", afterId);
+        }
+        return find(query, fields, withItems, pageable);
+    }
+
+    private TypedQuery<Tuple> createQuery(Set<String> fields, String whereAndOrder) {
+        List<String> columns = new ArrayList<>();
+        for (String field : SPARSE_FIELDS) {
+            if (fields.contains(field)) {
+                columns.addAll(COLUMNS.get(field));
+            }
+        }
+
+        StringBuilder jpql = new StringBuilder("select ").append(String.join(", ", columns)).append(" from Order o");
+        if (fields.contains("customerName")) {
+            jpql.append(" join o.customer c");
+        }
+        if (fields.contains("employeeName")) {
+            jpql.append(" left join o.employee e");
+        }
+        return entityManager.createQuery(jpql.append(whereAndOrder).toString(), Tuple.class);
+    }
+
+    private Slice<Map<String, Object>> find(TypedQuery<Tuple> query, Set<String> fields, boolean withItems,
+                                            Pageable pageable) {
+        Slice<Map<String, Object>> orders = SparseQueries.slice(query, pageable, row -> {
+            Map<String, Object> order = new LinkedHashMap<>();
+            int column = 0;
+            for (String field : SPARSE_FIELDS) {
+                if (!fields.contains(field)) {
+                    continue;
+                }
+                if (COLUMNS.get(field).size() == 2) {
+                    String firstName = (String) row.get(column++);
+                    String lastName = (String) row.get(column++);
+                    order.put(field, firstName != null ? firstName + " " + lastName : null);
+                } else {
+                    order.put(field, row.get(column++));
+                }
+            }
+            return order;
+        });
+
+        if (withItems && orders.hasContent()) {
+            Map<Long, List<OrderItemResponseDTO>> items = findItems(orders.map(order -> (Long) order.get("id")).toList());
+            orders.forEach(order -> order.put(ITEMS, items.getOrDefault((Long) order.get("id"), List.of())));
+        }
+        return orders;
+    }
+
+    /**
+     * Os itens de todos os pedidos da página em uma única consulta, só com as colunas de OrderItemResponseDTO.
+     */
+    private Map<Long, List<OrderItemResponseDTO>> findItems(List<Long> orderIds) {
+        List<Tuple> rows = entityManager.createQuery("""
+                        select i.order.id, p.id, p.name, i.quantity, i.unitPrice
+                        from OrderItem i join i.product p
+                        where i.order.id in :orderIds
+                        order by i.id""", Tuple.class)
+                .setParameter("orderIds", orderIds)
+                .getResultList();
+
+        Map<Long, List<OrderItemResponseDTO>> items = new HashMap<>();
+        for (Tuple row : rows) {
+            items.computeIfAbsent((Long) row.get(0), id -> new ArrayList<>()).add(new OrderItemResponseDTO(
+                    (Long) row.get(1), (String) row.get(2), (Integer) row.get(3), (BigDecimal) row.get(4)));
+        }
+        return items;
+    }
+}
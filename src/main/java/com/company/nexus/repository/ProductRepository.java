@@ -1,10 +1,75 @@
 package com.company.nexus.repository;
 
+import com.company.nexus.dto.ProductResponseDTO;
 import com.company.nexus.model.Product;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductRepositoryCustom {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))  // Cache de consultas.
     Optional<Product> findBySku(String sku);
+
+    // Importação em lote: verifica a unicidade de um chunk inteiro de SKUs em uma única consulta.
+    @Query("select p.sku from Product p where p.sku in :skus")
+    Set<String> findExistingSkus(@Param("skus") Collection<String> skus);
+
+    // O fornecedor entra no mesmo SELECT, evitando uma consulta LAZY por produto.
+    @Query("""
+            select new com.company.nexus.dto.ProductResponseDTO(
+                    p.id, p.name, p.description, p.price, p.sku, s.id, s.name, s.contactPerson, s.email, s.phone
+            )
+            from Product p join p.supplier s""")
+    Slice<ProductResponseDTO> findAllProjectedBy(Pageable pageable);
+
+    @Query("""
+            select new com.company.nexus.dto.ProductResponseDTO(
+                    p.id, p.name, p.description, p.price, p.sku, s.id, s.name, s.contactPerson, s.email, s.phone
+            )
+            from Product p join p.supplier s
+            where p.id > :id""")
+    Slice<ProductResponseDTO> findProjectedByIdGreaterThan(@Param("id") Long id, Pageable pageable);
+
+    // Resultados da busca textual: o índice devolve os IDs ranqueados e o banco, os dados atuais.
+    @Query("""
+            select new com.company.nexus.dto.ProductResponseDTO(
+                    p.id, p.name, p.description, p.price, p.sku, s.id, s.name, s.contactPerson, s.email, s.phone
+            )
+            from Product p join p.supplier s
+            where p.id in :ids""")
+    List<ProductResponseDTO> findProjectedByIdIn(@Param("ids") Collection<Long> ids);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+            select new com.company.nexus.dto.ProductResponseDTO(
+                    p.id, p.name, p.description, p.price, p.sku, s.id, s.name, s.contactPerson, s.email, s.phone
+            )
+            from Product p join p.supplier s
+            order by p.id""")
+    Stream<ProductResponseDTO> streamAllProjectedBy();
+
+    // O fornecedor vem no mesmo SELECT, como nas projeções.
+    @Query("""
+            select p from Product p join fetch p.supplier
+            where p.updatedAt <= :until
+              and (p.updatedAt > :updatedAt or (p.updatedAt = :updatedAt and p.id > :id))
+            order by p.updatedAt, p.id""")
+    Slice<Product> findChangedAfter(@Param("updatedAt") LocalDateTime updatedAt, @Param("id") Long id,
+                                    @Param("until") LocalDateTime until, Pageable pageable);
+
+    // A resposta traz o fornecedor: o ETag muda também quando ele é alterado.
+    @Query("select str(p.version) || '.' || str(s.version) from Product p join p.supplier s where p.id = :id")
+    Optional<String> findTagById(@Param("id") Long id);
 }
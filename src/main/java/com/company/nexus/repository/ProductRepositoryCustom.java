@@ -0,0 +1,34 @@
+package com.company.nexus.repository;
+
+import com.company.nexus.model.Product;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public interface ProductRepositoryCustom {
+
+    // Campos aceitos em GET /api/v1/products?fields=, na ordem de ProductResponseDTO, e a associação de ?embed=.
+    List<String> SPARSE_FIELDS = List.of("id", "name", "description", "price", "sku");
+    String SUPPLIER = "supplier";
+
+    /**
+     * Carrega vários produtos pelo ID consultando primeiro a sessão e o cache de segundo nível;
+     * apenas os IDs ausentes nos caches vão ao banco, agrupados em uma única consulta.
+     *
+     * @param ids Os IDs dos produtos.
+     * @return Os produtos encontrados (IDs inexistentes são omitidos).
+     */
+    List<Product> findAllByIdCached(Collection<Long> ids);
+
+    /**
+     * Listagem parcial (?fields= e ?embed=): o SELECT traz só as colunas pedidas, e o fornecedor só entra no JOIN
+     * quando é incluído. Cada registro é um mapa com os campos pedidos, na ordem de ProductResponseDTO.
+     *
+     * @param afterId O último ID entregue (cursor), ou null para a paginação por OFFSET.
+     */
+    Slice<Map<String, Object>> findSparse(Set<String> fields, boolean withSupplier, Long afterId, Pageable pageable);
+}
@@ -0,0 +1,72 @@
+package com.company.nexus.repository;
+
+import com.company.nexus.dto.SupplierResponseDTO;
+import com.company.nexus.model.Product;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.Session;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+class ProductRepositoryCustomImpl implements ProductRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Product> findAllByIdCached(Collection<Long> ids) {
+        // Diferente de findAllById (JPQL "IN"), o multiLoad do Hibernate respeita o cache de segundo nível.
+        return entityManager.unwrap(Session.class)
+                .byMultipleIds(Product.class)
+                .enableSessionCheck(true)
+                .multiLoad(List.copyOf(ids))
+                .stream()
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    @Override
+    public Slice<Map<String, Object>> findSparse(Set<String> fields, boolean withSupplier, Long afterId,
+                                                 Pageable pageable) {
+        List<String> selected = SPARSE_FIELDS.stream().filter(fields::contains).toList();
+
+        StringBuilder jpql = new StringBuilder("select ")
+                .append(selected.stream().map(field -> "p." + field).collect(Collectors.joining(", ")));
+        if (withSupplier) {
+            jpql.append(", s.id, s.name, s.contactPerson, s.email, s.phone from Product p join p.supplier s");
+        } else {
+            jpql.append(" from Product p");
+        }
+        if (afterId != null) {
+            jpql.append(" where p.id > :afterId");
+        }
+        jpql.append(" order by p.id");
+
+        TypedQuery<Tuple> query = entityManager.createQuery(jpql.toString(), Tuple.class);
+        if (afterId != null) {
+            query.setParameter("afterId", afterId);
+        }
+        return SparseQueries.slice(query, pageable, row -> {
+            Map<String, Object> product = new LinkedHashMap<>();
+            for (int i = 0; i < selected.size(); i++) {
+                product.put(selected.get(i), row.get(i));
+            }
+            if (withSupplier) {
+                int s = selected.size();
+                product.put(SUPPLIER, new SupplierResponseDTO((Long) row.get(s), (String) row.get(s + 1),
+                        (String) row.get(s + 2), (String) row.get(s + 3), (String) row.get(s + 4)));
+            }
+            return product;
+        });
+    }
+}
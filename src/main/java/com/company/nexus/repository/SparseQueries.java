@@ -0,0 +1,32 @@
+package com.company.nexus.repository;
+
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Apoio às listagens parciais (findSparse), cujo SELECT é montado conforme os campos pedidos.
+ */
+final class SparseQueries {
+
+    private SparseQueries() {
+    }
+
+    /**
+     * Executa a consulta como uma fatia (Slice): lê uma linha além do tamanho da página só para saber se há próxima.
+     */
+    static <T> Slice<T> slice(TypedQuery<Tuple> query, Pageable pageable, Function<Tuple, T> mapper) {
+        List<Tuple> rows = query
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList();
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        List<T> content = rows.stream().limit(pageable.getPageSize()).map(mapper).toList();
+        return new SliceImpl<>(content, pageable, hasNext);
+    }
+}
@@ -1,10 +1,55 @@
 package com.company.nexus.repository;
 
+import com.company.nexus.dto.SupplierResponseDTO;
 import com.company.nexus.model.Supplier;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface SupplierRepository extends JpaRepository<Supplier, Long> {
     Optional<Supplier> findByEmail(String email);
+
+    @Query("""
+            select new com.company.nexus.dto.SupplierResponseDTO(
+                    s.id, s.name, s.contactPerson, s.email, s.phone
+            )
+            from Supplier s""")
+    Slice<SupplierResponseDTO> findAllProjectedBy(Pageable pageable);
+
+    @Query("""
+            select new com.company.nexus.dto.SupplierResponseDTO(
+                    s.id, s.name, s.contactPerson, s.email, s.phone
+            )
+            from Supplier s
+            where s.id > :id""")
+    Slice<SupplierResponseDTO> findProjectedByIdGreaterThan(@Param("id") Long id, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+            select new com.company.nexus.dto.SupplierResponseDTO(
+                    s.id, s.name, s.contactPerson, s.email, s.phone
+            )
+            from Supplier s
+            order by s.id""")
+    Stream<SupplierResponseDTO> streamAllProjectedBy();
+
+    @Query("""
+            select s from Supplier s
+            where s.updatedAt <= :until
+              and (s.updatedAt > :updatedAt or (s.updatedAt = :updatedAt and s.id > :id))
+            order by s.updatedAt, s.id""")
+    Slice<Supplier> findChangedAfter(@Param("updatedAt") LocalDateTime updatedAt, @Param("id") Long id,
+                                     @Param("until") LocalDateTime until, Pageable pageable);
+
+    @Query("select str(s.version) from Supplier s where s.id = :id")
+    Optional<String> findTagById(@Param("id") Long id);
 }
@@ -0,0 +1,30 @@
+package com.company.nexus.repository;
+
+import com.company.nexus.model.ChangeEvent;
+import com.company.nexus.model.Tombstone;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+
+public interface TombstoneRepository extends JpaRepository<Tombstone, Long> {
+
+    // Mesma chave (instante, id) das consultas findChangedAfter dos cadastros.
+    @Query("""
+            select t from Tombstone t
+            where t.entityType = :entityType
+              and t.deletedAt <= :until
+              and (t.deletedAt > :deletedAt or (t.deletedAt = :deletedAt and t.entityId > :entityId))
+            order by t.deletedAt, t.entityId""")
+    Slice<Tombstone> findDeletedAfter(@Param("entityType") ChangeEvent.EntityType entityType,
+                                      @Param("deletedAt") LocalDateTime deletedAt, @Param("entityId") Long entityId,
+                                      @Param("until") LocalDateTime until, Pageable pageable);
+
+    @Modifying
+    @Query("delete from Tombstone t where t.deletedAt < :before")
+    int deleteDeletedBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,321 @@
+package com.company.nexus.service;
+
+import com.company.nexus.dto.ImportErrorDTO;
+import com.company.nexus.dto.ImportReportDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceException;
+import jakarta.validation.Validator;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Importa um upload NDJSON ou CSV em lotes ("chunks"), lendo a entrada linha a linha.
+ * <p>
+ * Cada linha é convertida para o DTO de requisição e validada (Bean Validation); as válidas são acumuladas
+ * até "nexus.import.chunk-size" e entregues ao {@link ChunkWriter} em uma transação própria. Ao fim de cada
+ * chunk o contexto de persistência é descarregado e limpo, então a memória não cresce com o tamanho do arquivo.
+ * Linhas inválidas não interrompem a importação: elas entram no relatório com o número da linha.
+ */
+@Component
+@Timed("nexus.service")
+public class BulkImporter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int maxReportedErrors;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public BulkImporter(ObjectMapper objectMapper, Validator validator, PlatformTransactionManager transactionManager,
+                        @Value("${nexus.import.chunk-size:1000}") int chunkSize,
+                        @Value("${nexus.import.max-reported-errors:1000}") int maxReportedErrors) {
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    /**
+     * Grava as linhas válidas de um chunk, já dentro da transação do chunk.
+     * Deve fazer as verificações de unicidade e as buscas de relacionamentos uma única vez para o chunk inteiro.
+     *
+     * @return As linhas rejeitadas pelo writer (ex.: SKU já existente); as demais são consideradas importadas.
+     */
+    @FunctionalInterface
+    public interface ChunkWriter<T> {
+        List<ImportErrorDTO> write(List<ImportRow<T>> rows);
+    }
+
+    public record ImportRow<T>(long line, T value) {
+    }
+
+    public <T> ImportReportDTO importRows(InputStream in, ExportFormat format, Class<T> type, ChunkWriter<T> writer)
+            throws IOException {
+        Report report = new Report(maxReportedErrors);
+        List<ImportRow<T>> chunk = new ArrayList<>(chunkSize);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), BUFFER_SIZE)) {
+            RecordSource source = switch (format) {
+                case NDJSON -> new NdjsonSource(reader);
+                case CSV -> new CsvSource(reader);
+            };
+
+            SourceRecord record;
+            while ((record = source.next()) != null) {
+                report.processed++;
+                String error = record.error();
+                T value = null;
+                if (error == null) {
+                    try {
+                        value = objectMapper.convertValue(record.fields(), type);
+                        error = validate(value);
+                    } catch (IllegalArgumentException ex) {
+                        error = "Malformed row: " + firstLine(ex.getMessage());
+                    }
+                }
+
+                if (error != null) {
+                    report.reject(record.line(), error);
+                    continue;
+                }
+
+                chunk.add(new ImportRow<>(record.line(), value));
+                if (chunk.size() == chunkSize) {
+                    writeChunk(chunk, writer, report);
+                    chunk.clear();
+                }
+            }
+        }
+
+        if (!chunk.isEmpty()) {
+            writeChunk(chunk, writer, report);
+        }
+        return report.toDTO();
+    }
+
+    private <T> void writeChunk(List<ImportRow<T>> chunk, ChunkWriter<T> writer, Report report) {
+        List<ImportErrorDTO> rejected;
+        try {
+            rejected = transactionTemplate.execute(status -> {
+                Session session = entityManager.unwrap(Session.class);
+                CacheMode previousCacheMode = session.getCacheMode();
+                // Não popula o cache de segundo nível com milhares de entidades recém-importadas.
+                session.setCacheMode(CacheMode.IGNORE);
+                try {
+                    List<ImportErrorDTO> errors = writer.write(chunk);
+                    entityManager.flush();  // INSERTs em lotes JDBC (hibernate.jdbc.batch_size).
+                    entityManager.clear();
+                    return errors;
+                } finally {
+                    session.setCacheMode(previousCacheMode);
+                }
+            });
+        } catch (DataAccessException | PersistenceException ex) {
+            // Ex.: outro processo gravou o mesmo SKU/e-mail depois da verificação; o chunk inteiro volta.
+            String message = "Chunk rejected by the database: " + NestedExceptionUtils.getMostSpecificCause(ex).getMessage();
+            chunk.forEach(row -> report.reject(row.line(), message));
+            return;
+        }
+
+        report.imported += chunk.size() - rejected.size();
+        rejected.forEach(error -> report.reject(error.line(), error.message()));
+    }
+
+    private String validate(Object value) {
+        var violations = validator.validate(value);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private static String firstLine(String message) {
+        return message == null ? "" : message.lines().findFirst().orElse("");
+    }
+
+    private static final class Report {
+
+        private final int maxReportedErrors;
+        private final List<ImportErrorDTO> errors = new ArrayList<>();
+        private long processed;
+        private long imported;
+        private long rejected;
+
+        private Report(int maxReportedErrors) {
+            this.maxReportedErrors = maxReportedErrors;
+        }
+
+        private void reject(long line, String message) {
+            rejected++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new ImportErrorDTO(line, message));
+            }
+        }
+
+        private ImportReportDTO toDTO() {
+            return new ImportReportDTO(processed, imported, rejected, List.copyOf(errors), rejected > errors.size());
+        }
+    }
+
+    /**
+     * Uma linha lida do upload: os campos brutos (JsonNode ou Map) ou o erro de leitura.
+     */
+    private record SourceRecord(long line, Object fields, String error) {
+
+        static SourceRecord of(long line, Object fields) {
+            return new SourceRecord(line, fields, null);
+        }
+
+        static SourceRecord invalid(long line, String error) {
+            return new SourceRecord(line, null, error);
+        }
+    }
+
+    private interface RecordSource {
+        SourceRecord next() throws IOException;  // null ao fim da entrada.
+    }
+
+    private final class NdjsonSource implements RecordSource {
+
+        private final BufferedReader reader;
+        private long line;
+
+        private NdjsonSource(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public SourceRecord next() throws IOException {
+            String text;
+            while ((text = reader.readLine()) != null) {
+                line++;
+                if (text.isBlank()) {
+                    continue;
+                }
+                try {
+                    return SourceRecord.of(line, objectMapper.readTree(text));
+                } catch (JsonProcessingException ex) {
+                    return SourceRecord.invalid(line, "Malformed JSON: " + ex.getOriginalMessage());
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * CSV com cabeçalho (RFC 4180): campos entre aspas podem conter vírgulas, aspas duplicadas e quebras de linha,
+     * exatamente como o {@link DataExporter} os escreve. Campos vazios viram null.
+     */
+    private static final class CsvSource implements RecordSource {
+
+        private final BufferedReader reader;
+        private final List<String> header;
+        private long line;
+
+        private CsvSource(BufferedReader reader) throws IOException {
+            this.reader = reader;
+            List<String> columns = readRecord();
+            if (columns == null) {
+                throw new IllegalArgumentException("CSV upload is missing the header row");
+            }
+            columns.set(0, columns.get(0).replace("\uFEFF", ""));  // BOM de arquivos gerados por planilhas.
+            this.header = columns.stream().map(String::trim).toList();
+        }
+
+        @Override
+        public SourceRecord next() throws IOException {
+            while (true) {
+                long start = line + 1;
+                List<String> values = readRecord();
+                if (values == null) {
+                    return null;
+                }
+                if (values.size() == 1 && values.get(0).isBlank()) {
+                    continue;
+                }
+                if (values.size() != header.size()) {
+                    return SourceRecord.invalid(start,
+                            "Expected " + header.size() + " columns but found " + values.size());
+                }
+
+                Map<String, String> fields = new LinkedHashMap<>();
+                for (int i = 0; i < header.size(); i++) {
+                    String value = values.get(i);
+                    fields.put(header.get(i), value.isEmpty() ? null : value);
+                }
+                return SourceRecord.of(start, fields);
+            }
+        }
+
+        private List<String> readRecord() throws IOException {
+            int c = reader.read();
+            if (c == -1) {
+                return null;
+            }
+
+            List<String> values = new ArrayList<>();
+            StringBuilder value = new StringBuilder();
+            boolean quoted = false;
+            for (; c != -1; c = reader.read()) {
+                if (quoted) {
+                    if (c == '"') {
+                        reader.mark(1);
+                        if (reader.read() == '"') {
+                            value.append('"');
+                        } else {
+                            reader.reset();
+                            quoted = false;
+                        }
+                    } else {
+                        if (c == '\n') {
+                            line++;
+                        }
+                        value.append((char) c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    values.add(value.toString());
+                    value.setLength(0);
+                } else if (c == '\n') {
+                    break;
+                } else if (c != '\r') {
+                    value.append((char) c);
+                }
+            }
+            line++;
+            values.add(value.toString());
+            return values;
+        }
+    }
+}
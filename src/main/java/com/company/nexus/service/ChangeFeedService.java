@@ -0,0 +1,127 @@
+package com.company.nexus.service;
+
+import com.company.nexus.dto.ChangeEventDTO;
+import com.company.nexus.dto.ChangeFeedDTO;
+import com.company.nexus.exception.ChangeFeedExpiredException;
+import com.company.nexus.model.ChangeEvent;
+import com.company.nexus.repository.ChangeEventRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Leitura do feed de alterações (GET /api/v1/changes) com long-poll.
+ * <p>
+ * Se já há alterações após o "since", a resposta sai imediatamente. Senão, a requisição fica suspensa (sem ocupar
+ * uma thread do Tomcat) até o {@link ChangeRelay} publicar algo ou o tempo de espera acabar; neste caso a resposta
+ * é uma lista vazia com o mesmo "since".
+ */
+@Service
+@RequiredArgsConstructor
+@Timed("nexus.service")
+public class ChangeFeedService {
+
+    public static final int MAX_LIMIT = 1000;
+    public static final Duration MAX_WAIT = Duration.ofSeconds(60);
+
+    private final ChangeEventRepository changeEventRepository;
+    private final Set<Waiter> waiters = ConcurrentHashMap.newKeySet();
+
+    private record Waiter(long since, ChangeEvent.EntityType entityType, int limit,
+                          DeferredResult<ChangeFeedDTO> result) {
+    }
+
+    /**
+     * ETag de uma listagem que mostra dados destes tipos: a última posição do feed em que algum deles mudou.
+     * Cada alteração confirmada recebe, ao ser publicada, uma posição maior que todas as anteriores, então o valor
+     * muda a cada alteração. Enquanto houver alteração desses tipos confirmada e ainda não publicada, a listagem
+     * fica sem ETag (null) em vez de validar uma cópia que já não é a atual.
+     */
+    public String collectionTag(Set<ChangeEvent.EntityType> entityTypes) {
+        ChangeEventRepository.CollectionPosition position = changeEventRepository.findCollectionPosition(entityTypes);
+        if (position.getPendingId() != null) {
+            return null;
+        }
+        // Sem registros mantidos desses tipos (removidos após "retention"), a última posição geral também serve:
+        // é maior que qualquer posição que eles já tiveram, então não repete um ETag antigo.
+        Long last = position.getLastSequence() != null ? position.getLastSequence() : position.getLastOverallSequence();
+        return "feed-" + (last != null ? last : 0);
+    }
+
+    /**
+     * @param since      A última posição já processada pelo consumidor (0 na primeira leitura).
+     * @param entityType Só alterações deste tipo; null para todas.
+     * @param wait       Quanto esperar por alterações se ainda não há nenhuma; zero responde na hora.
+     * @throws ChangeFeedExpiredException Se as alterações após "since" já foram removidas.
+     */
+    public DeferredResult<ChangeFeedDTO> poll(long since, ChangeEvent.EntityType entityType, int limit, Duration wait) {
+        if (since < 0) {
+            throw new IllegalArgumentException("since must not be negative.");
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT + ".");
+        }
+        if (wait.isNegative() || wait.compareTo(MAX_WAIT) > 0) {
+            throw new IllegalArgumentException("wait must be between 0 and " + MAX_WAIT.toSeconds() + " seconds.");
+        }
+        Long first = changeEventRepository.findFirstSequence();
+        if (first != null && since < first - 1) {
+            throw new ChangeFeedExpiredException("Changes after sequence " + since + " are no longer retained. "
+                    + "Resynchronize with a full read and continue from sequence " + (first - 1) + ".");
+        }
+
+        ChangeFeedDTO noChanges = new ChangeFeedDTO(List.of(), since);
+        if (wait.isZero()) {
+            DeferredResult<ChangeFeedDTO> result = new DeferredResult<>();
+            List<ChangeEvent> changes = read(since, entityType, limit);
+            result.setResult(changes.isEmpty() ? noChanges : toFeed(changes));
+            return result;
+        }
+
+        DeferredResult<ChangeFeedDTO> result = new DeferredResult<>(wait.toMillis(), () -> noChanges);
+        Waiter waiter = new Waiter(since, entityType, limit, result);
+        waiters.add(waiter);
+        result.onCompletion(() -> waiters.remove(waiter));
+        // Registrado antes da leitura: uma publicação entre as duas também completa a espera.
+        complete(waiter);
+        return result;
+    }
+
+    /**
+     * Chamado pelo ChangeRelay depois de publicar: responde às esperas que agora têm alterações.
+     */
+    public void notifyPublished() {
+        waiters.forEach(this::complete);
+    }
+
+    private void complete(Waiter waiter) {
+        if (waiter.result().isSetOrExpired()) {
+            return;
+        }
+        List<ChangeEvent> changes = read(waiter.since(), waiter.entityType(), waiter.limit());
+        if (!changes.isEmpty()) {
+            waiter.result().setResult(toFeed(changes));
+        }
+    }
+
+    private List<ChangeEvent> read(long since, ChangeEvent.EntityType entityType, int limit) {
+        PageRequest page = PageRequest.of(0, limit);
+        return entityType == null
+                ? changeEventRepository.findBySequenceGreaterThanOrderBySequenceAsc(since, page)
+                : changeEventRepository.findByEntityTypeAndSequenceGreaterThanOrderBySequenceAsc(entityType, since, page);
+    }
+
+    private static ChangeFeedDTO toFeed(List<ChangeEvent> changes) {
+        return new ChangeFeedDTO(
+                changes.stream().map(ChangeEventDTO::new).toList(),
+                changes.get(changes.size() - 1).getSequence()
+        );
+    }
+}
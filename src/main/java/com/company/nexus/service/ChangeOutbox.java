@@ -0,0 +1,44 @@
+package com.company.nexus.service;
+
+import com.company.nexus.model.ChangeEvent;
+import com.company.nexus.repository.ChangeEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+
+/**
+ * Grava alterações no outbox (change_events) dentro da transação de quem altera: a alteração e o seu registro
+ * são confirmados ou desfeitos juntos, então o feed nunca mostra algo que não foi gravado nem perde algo que foi.
+ */
+@Component
+@RequiredArgsConstructor
+public class ChangeOutbox {
+
+    private final ChangeEventRepository changeEventRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * @param payload O DTO de resposta da entidade; null em DELETED.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(ChangeEvent.EntityType entityType, Long entityId, ChangeEvent.Operation operation,
+                       Object payload) {
+        changeEventRepository.save(new ChangeEvent(
+                entityType, entityId, operation, payload == null ? null : toJson(payload), LocalDateTime.now()
+        ));
+    }
+
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.company.nexus.service;
+
+import com.company.nexus.model.ChangeEvent;
+import com.company.nexus.repository.ChangeEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Publica os registros do outbox (change_events) no feed de alterações.
+ * <p>
+ * A cada "relay-interval", lê em lotes de "batch-size" os registros já confirmados e ainda sem "sequence", atribui
+ * a eles as próximas posições do feed e acorda os consumidores em long-poll. Os registros publicados são mantidos
+ * por "retention"; consumidores mais atrasados que isso recebem 410 e refazem a leitura completa.
+ */
+@Slf4j
+@Component
+public class ChangeRelay {
+
+    private final ChangeEventRepository changeEventRepository;
+    private final ChangeFeedService changeFeedService;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration retention;
+
+    public ChangeRelay(ChangeEventRepository changeEventRepository, ChangeFeedService changeFeedService,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${nexus.changes.batch-size:500}") int batchSize,
+                       @Value("${nexus.changes.retention:7d}") Duration retention) {
+        this.changeEventRepository = changeEventRepository;
+        this.changeFeedService = changeFeedService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.retention = retention;
+    }
+
+    @Scheduled(fixedDelayString = "${nexus.changes.relay-interval:200ms}")
+    public void relay() {
+        try {
+            while (publishBatch() == batchSize) {
+                // Continua enquanto houver lotes cheios pendentes.
+            }
+        } catch (DataIntegrityViolationException ex) {
+            // Outra instância publicou ao mesmo tempo e ocupou as mesmas posições; tenta no próximo ciclo.
+            log.debug("Change relay conflicted with another instance", ex);
+        }
+    }
+
+    /**
+     * Publica um lote de registros pendentes.
+     *
+     * @return Quantos registros foram publicados.
+     */
+    public int publishBatch() {
+        Integer published = transactionTemplate.execute(status -> {
+            List<ChangeEvent> pending = changeEventRepository.findUnpublished(PageRequest.of(0, batchSize));
+            if (pending.isEmpty()) {
+                return 0;
+            }
+            long sequence = changeEventRepository.findLastSequence();
+            LocalDateTime now = LocalDateTime.now();
+            for (ChangeEvent changeEvent : pending) {
+                changeEvent.publish(++sequence, now);
+            }
+            return pending.size();
+        });
+        if (published != null && published > 0) {
+            changeFeedService.notifyPublished();
+            return published;
+        }
+        return 0;
+    }
+
+    @Scheduled(fixedDelayString = "${nexus.changes.purge-interval:1h}")
+    public void purge() {
+        LocalDateTime before = LocalDateTime.now().minus(retention);
+        Integer purged = transactionTemplate.execute(status -> changeEventRepository.deletePublishedBefore(before));
+        if (purged != null && purged > 0) {
+            log.info("Purged {} change events published before {}", purged, before);
+        }
+    }
+}
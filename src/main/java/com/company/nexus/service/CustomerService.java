@@ -2,21 +2,41 @@ package com.company.nexus.service;
 
 import com.company.nexus.dto.CustomerRequestDTO;
 import com.company.nexus.dto.CustomerResponseDTO;
+import com.company.nexus.dto.ImportErrorDTO;
+import com.company.nexus.dto.ImportReportDTO;
+import com.company.nexus.dto.PageResponseDTO;
+import com.company.nexus.model.ChangeEvent;
 import com.company.nexus.model.Customer;
 import com.company.nexus.repository.CustomerRepository;
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
+@Timed("nexus.service")
 public class CustomerService {
 
     private final CustomerRepository customerRepository;
+    private final DataExporter dataExporter;
+    private final BulkImporter bulkImporter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ChangeOutbox changeOutbox;
+    private final DeltaSync deltaSync;
+    private final ChangeFeedService changeFeedService;
 
     @Transactional
     public CustomerResponseDTO createCustomer(CustomerRequestDTO requestDTO) {
@@ -28,37 +48,85 @@ public class CustomerService {
         mapDtoToEntity(requestDTO, customer);
         Customer savedCustomer = customerRepository.save(customer);
 
-        return new CustomerResponseDTO(savedCustomer);
+        CustomerResponseDTO responseDTO = new CustomerResponseDTO(savedCustomer);
+        changeOutbox.record(ChangeEvent.EntityType.CUSTOMER, savedCustomer.getId(), ChangeEvent.Operation.CREATED, responseDTO);
+        return responseDTO;
     }
 
     @Transactional(readOnly = true)
-    public List<CustomerResponseDTO> getAllCustomers() {
-        return customerRepository.findAll()
-                .stream()
-                .map(CustomerResponseDTO::new)  // Converte cada Customer em CustomerResponseDTO
-                .collect(Collectors.toList());
+    public PageResponseDTO<CustomerResponseDTO> getAllCustomers(String cursor, LocalDateTime modifiedSince,
+                                                                Pageable pageable) {
+        if (modifiedSince != null) {
+            return deltaSync.changesSince(ChangeEvent.EntityType.CUSTOMER, modifiedSince, cursor, pageable,
+                    customerRepository::findChangedAfter, CustomerResponseDTO::new);
+        }
+        Slice<CustomerResponseDTO> customers = cursor == null
+                ? customerRepository.findAllProjectedBy(KeysetCursor.offsetById(pageable))
+                : customerRepository.findProjectedByIdGreaterThan(KeysetCursor.decodeId(cursor), KeysetCursor.seekById(pageable));
+
+        return KeysetCursor.toPage(customers, dto -> KeysetCursor.encode(dto.id()));
+    }
+
+    /**
+     * Escreve todos os clientes no formato informado, direto do cursor do banco para a saída.
+     * Executado fora da thread da requisição (StreamingResponseBody), por isso abre a própria transação.
+     */
+    @Transactional(readOnly = true)
+    public void exportCustomers(ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<CustomerResponseDTO> customers = customerRepository.streamAllProjectedBy()) {
+            dataExporter.write(customers, CustomerResponseDTO.class, format, out);
+        }
+    }
+
+    /**
+     * Importa clientes (NDJSON ou CSV) em chunks, verificando os e-mails de cada chunk com uma única consulta.
+     */
+    public ImportReportDTO importCustomers(ExportFormat format, InputStream in) throws IOException {
+        return bulkImporter.importRows(in, format, CustomerRequestDTO.class, this::saveCustomerChunk);
     }
 
     @Transactional(readOnly = true)
-    public CustomerResponseDTO getCustomerById(Long id) {
+    public Tagged<CustomerResponseDTO> getCustomerById(Long id) {
         Customer customer = findCustomerById(id);
 
-        return new CustomerResponseDTO(customer);
+        return new Tagged<>(new CustomerResponseDTO(customer), EntityTags.of(customer.getVersion()));
+    }
+
+    /**
+     * ETag de GET /{id} (ver {@link EntityTags}) lido sem carregar o cliente: o mesmo que {@link #getCustomerById}
+     * devolve a partir do cliente lido.
+     */
+    public String getCustomerTag(Long id) {
+        return customerRepository.findTagById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Customer not found with id: " + id));
+    }
+
+    /**
+     * ETag da listagem (ver {@link ChangeFeedService#collectionTag}).
+     */
+    public String getCustomersTag() {
+        return changeFeedService.collectionTag(EnumSet.of(ChangeEvent.EntityType.CUSTOMER));
     }
 
     @Transactional
-    public CustomerResponseDTO updateCustomer(Long id, CustomerRequestDTO requestDTO) {
+    public CustomerResponseDTO updateCustomer(Long id, CustomerRequestDTO requestDTO, String expectedTag) {
         Customer existingCustomer = findCustomerById(id);
+        EntityTags.requireMatch(expectedTag, EntityTags.of(existingCustomer.getVersion()));
         mapDtoToEntity(requestDTO, existingCustomer);
         Customer updatedCustomer = customerRepository.save(existingCustomer);
+        eventPublisher.publishEvent(new OrderHistoryChangedEvent(id));  // O histórico exibe o nome do cliente.
 
-        return new CustomerResponseDTO(updatedCustomer);
+        CustomerResponseDTO responseDTO = new CustomerResponseDTO(updatedCustomer);
+        changeOutbox.record(ChangeEvent.EntityType.CUSTOMER, id, ChangeEvent.Operation.UPDATED, responseDTO);
+        return responseDTO;
     }
 
     @Transactional
     public void deleteCustomer(Long id) {
         findCustomerById(id);
         customerRepository.deleteById(id);
+        changeOutbox.record(ChangeEvent.EntityType.CUSTOMER, id, ChangeEvent.Operation.DELETED, null);
+        deltaSync.recordDeletion(ChangeEvent.EntityType.CUSTOMER, id);
     }
 
     public Customer findCustomerById(Long id) {
@@ -66,6 +134,36 @@ public class CustomerService {
                 .orElseThrow(() -> new EntityNotFoundException("Customer not found with id: " + id));
     }
 
+    /**
+     * Grava um chunk do upload. Os e-mails já cadastrados são verificados com uma única consulta; duplicatas,
+     * no banco ou no próprio chunk, são reportadas na linha em que aparecem.
+     */
+    private List<ImportErrorDTO> saveCustomerChunk(List<BulkImporter.ImportRow<CustomerRequestDTO>> rows) {
+        Set<String> existingEmails = customerRepository.findExistingEmails(
+                rows.stream().map(row -> row.value().email()).collect(Collectors.toSet()));
+
+        List<ImportErrorDTO> errors = new ArrayList<>();
+        List<Customer> customers = new ArrayList<>(rows.size());
+        Set<String> chunkEmails = new HashSet<>();  // E-mail repetido dentro do próprio chunk.
+        for (BulkImporter.ImportRow<CustomerRequestDTO> row : rows) {
+            CustomerRequestDTO dto = row.value();
+            if (existingEmails.contains(dto.email())) {
+                errors.add(new ImportErrorDTO(row.line(), "Customer with email " + dto.email() + " already exists."));
+            } else if (!chunkEmails.add(dto.email())) {
+                errors.add(new ImportErrorDTO(row.line(), "Duplicate email " + dto.email() + " in upload."));
+            } else {
+                Customer customer = new Customer();
+                mapDtoToEntity(dto, customer);
+                customers.add(customer);
+            }
+        }
+
+        customerRepository.saveAll(customers);
+        customers.forEach(customer -> changeOutbox.record(ChangeEvent.EntityType.CUSTOMER, customer.getId(),
+                ChangeEvent.Operation.CREATED, new CustomerResponseDTO(customer)));
+        return errors;
+    }
+
     /**
      * Mapeia os dados de um CustomerRequestDTO para uma entidade Customer.
      * Centraliza a lógica de conversão de DTO para Entidade.
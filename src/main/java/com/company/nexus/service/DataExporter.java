@@ -0,0 +1,127 @@
+package com.company.nexus.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.RecordComponent;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Escreve um Stream de DTOs (records) diretamente na saída, linha a linha, em NDJSON ou CSV.
+ * Nada é acumulado em memória: o consumo de memória não depende do tamanho da tabela exportada.
+ */
+@Component
+@RequiredArgsConstructor
+@Timed("nexus.service")
+public class DataExporter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ObjectMapper objectMapper;
+
+    public <T extends Record> void write(Stream<T> rows, Class<T> type, ExportFormat format, OutputStream out)
+            throws IOException {
+        OutputStream buffered = new BufferedOutputStream(out, BUFFER_SIZE);
+        try {
+            switch (format) {
+                case NDJSON -> writeNdjson(rows, type, buffered);
+                case CSV -> writeCsv(rows, type, buffered);
+            }
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();  // Ex.: cliente encerrou a conexão no meio da exportação.
+        }
+        buffered.flush();
+    }
+
+    private <T> void writeNdjson(Stream<T> rows, Class<T> type, OutputStream out) {
+        ObjectWriter writer = objectMapper.writerFor(type);
+        rows.forEach(row -> {
+            try {
+                out.write(writer.writeValueAsBytes(row));
+                out.write('\n');
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+    }
+
+    private <T> void writeCsv(Stream<T> rows, Class<T> type, OutputStream out) throws IOException {
+        List<CsvColumn> columns = new ArrayList<>();
+        collectColumns(type, "", List.of(), columns);
+
+        writeCsvLine(columns.stream().map(CsvColumn::name).toList(), out);
+        rows.forEach(row -> {
+            try {
+                writeCsvLine(columns.stream().map(column -> column.valueOf(row)).toList(), out);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+    }
+
+    private static void writeCsvLine(List<?> values, OutputStream out) throws IOException {
+        String line = values.stream()
+                .map(DataExporter::escapeCsv)
+                .collect(Collectors.joining(",", "", "\n"));
+        out.write(line.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String escapeCsv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.contains(",") || text.contains("\"") || text.contains("\n") || text.contains("\r")) {
+            return "\"" + text.replace("\"", "\"\"") + "\"";
+        }
+        return text;
+    }
+
+    /**
+     * Achata os componentes do record em colunas; records aninhados viram colunas prefixadas
+     * (ex.: "supplier.name" no ProductResponseDTO).
+     */
+    private static void collectColumns(Class<?> type, String prefix, List<Method> path, List<CsvColumn> columns) {
+        for (RecordComponent component : type.getRecordComponents()) {
+            List<Method> componentPath = new ArrayList<>(path);
+            componentPath.add(component.getAccessor());
+
+            if (component.getType().isRecord()) {
+                collectColumns(component.getType(), prefix + component.getName() + ".", componentPath, columns);
+            } else {
+                columns.add(new CsvColumn(prefix + component.getName(), List.copyOf(componentPath)));
+            }
+        }
+    }
+
+    private record CsvColumn(String name, List<Method> accessors) {
+
+        Object valueOf(Object row) {
+            Object value = row;
+            for (Method accessor : accessors) {
+                if (value == null) {
+                    return null;
+                }
+                try {
+                    value = accessor.invoke(value);
+                } catch (IllegalAccessException | InvocationTargetException ex) {
+                    throw new IllegalStateException("Cannot read CSV column " + name, ex);
+                }
+            }
+            return value;
+        }
+    }
+}
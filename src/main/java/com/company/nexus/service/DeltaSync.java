@@ -0,0 +1,130 @@
+package com.company.nexus.service;
+
+import com.company.nexus.dto.PageResponseDTO;
+import com.company.nexus.exception.ChangeFeedExpiredException;
+import com.company.nexus.model.AuditableEntity;
+import com.company.nexus.model.ChangeEvent;
+import com.company.nexus.model.Tombstone;
+import com.company.nexus.repository.TombstoneRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Listagem incremental dos cadastros ("?modifiedSince="): o que foi criado, alterado ou excluído desde um instante,
+ * paginado por chave sobre (updated_at, id).
+ * <p>
+ * Alterações (updated_at das entidades) e exclusões (tombstones) são lidas com a mesma chave e intercaladas em
+ * ordem, então o cursor "next" cobre as duas. Ficam de fora as alterações dos últimos "nexus.sync.settle-time": o
+ * updated_at é definido antes do commit, e uma transação lenta poderia confirmar uma linha com instante anterior ao
+ * cursor que o consumidor já recebeu. As exclusões são mantidas por "tombstone-retention"; um "modifiedSince" mais
+ * antigo responde 410 e o consumidor refaz a leitura completa.
+ */
+@Slf4j
+@Component
+public class DeltaSync {
+
+    private static final Comparator<Change<?>> BY_POSITION =
+            Comparator.comparing((Change<?> change) -> change.at()).thenComparing(Change::id);
+
+    private final TombstoneRepository tombstoneRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration settleTime;
+    private final Duration tombstoneRetention;
+
+    public DeltaSync(TombstoneRepository tombstoneRepository, PlatformTransactionManager transactionManager,
+                     @Value("${nexus.sync.settle-time:5s}") Duration settleTime,
+                     @Value("${nexus.sync.tombstone-retention:30d}") Duration tombstoneRetention) {
+        this.tombstoneRepository = tombstoneRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.settleTime = settleTime;
+        this.tombstoneRetention = tombstoneRetention;
+    }
+
+    /**
+     * A consulta findChangedAfter de um repositório de cadastro.
+     */
+    @FunctionalInterface
+    interface ChangedQuery<E> {
+        Slice<E> find(LocalDateTime updatedAt, Long id, LocalDateTime until, Pageable pageable);
+    }
+
+    // Uma linha da página: a entidade alterada ou, com "entity" null, uma exclusão.
+    private record Change<E>(LocalDateTime at, Long id, E entity) {
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDeletion(ChangeEvent.EntityType entityType, Long entityId) {
+        tombstoneRepository.save(new Tombstone(entityType, entityId));
+    }
+
+    /**
+     * @param modifiedSince Início da leitura (inclusive); ignorado quando há cursor.
+     * @param cursor        O "next" de uma página anterior da listagem incremental.
+     */
+    <E extends AuditableEntity, T> PageResponseDTO<T> changesSince(ChangeEvent.EntityType entityType,
+                                                                   LocalDateTime modifiedSince, String cursor,
+                                                                   Pageable pageable, ChangedQuery<E> changedQuery,
+                                                                   Function<E, T> mapper) {
+        LocalDateTime at = modifiedSince;
+        Long id = 0L;
+        if (cursor != null) {
+            String[] values = KeysetCursor.decode(cursor, 2);
+            at = KeysetCursor.parse(cursor, values[0], LocalDateTime::parse);
+            id = KeysetCursor.parse(cursor, values[1], Long::valueOf);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        if (at.isBefore(now.minus(tombstoneRetention))) {
+            throw new ChangeFeedExpiredException("Deletions before " + now.minus(tombstoneRetention)
+                    + " are no longer retained. Reload the full listing.");
+        }
+
+        int size = pageable.getPageSize();
+        LocalDateTime until = now.minus(settleTime);
+        Pageable firstRows = PageRequest.ofSize(size);
+        Slice<E> changed = changedQuery.find(at, id, until, firstRows);
+        Slice<Tombstone> deleted = tombstoneRepository.findDeletedAfter(entityType, at, id, until, firstRows);
+
+        List<Change<E>> merged = new ArrayList<>(changed.getNumberOfElements() + deleted.getNumberOfElements());
+        changed.forEach(entity -> merged.add(new Change<>(entity.getUpdatedAt(), entity.getId(), entity)));
+        deleted.forEach(tombstone -> merged.add(new Change<>(tombstone.getDeletedAt(), tombstone.getEntityId(), null)));
+        merged.sort(BY_POSITION);
+
+        List<T> content = new ArrayList<>();
+        List<Long> deletedIds = new ArrayList<>();
+        for (Change<E> change : merged.subList(0, Math.min(size, merged.size()))) {
+            if (change.entity() == null) {
+                deletedIds.add(change.id());
+            } else {
+                content.add(mapper.apply(change.entity()));
+            }
+            at = change.at();
+            id = change.id();
+        }
+        return new PageResponseDTO<>(content, size, KeysetCursor.encode(at, id), deletedIds);
+    }
+
+    @Scheduled(fixedDelayString = "${nexus.sync.purge-interval:1h}")
+    public void purgeTombstones() {
+        LocalDateTime before = LocalDateTime.now().minus(tombstoneRetention);
+        Integer purged = transactionTemplate.execute(status -> tombstoneRepository.deleteDeletedBefore(before));
+        if (purged != null && purged > 0) {
+            log.info("Purged {} tombstones deleted before {}", purged, before);
+        }
+    }
+}
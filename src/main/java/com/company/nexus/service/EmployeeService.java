@@ -2,21 +2,32 @@ package com.company.nexus.service;
 
 import com.company.nexus.dto.EmployeeRequestDTO;
 import com.company.nexus.dto.EmployeeResponseDTO;
+import com.company.nexus.dto.PageResponseDTO;
+import com.company.nexus.model.ChangeEvent;
 import com.company.nexus.model.Employee;
 import com.company.nexus.repository.EmployeeRepository;
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
-import java.util.stream.Collectors;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
 
 @Service
 @RequiredArgsConstructor
+@Timed("nexus.service")
 public class EmployeeService {
 
     private final EmployeeRepository employeeRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ChangeOutbox changeOutbox;
+    private final DeltaSync deltaSync;
+    private final ChangeFeedService changeFeedService;
 
     @Transactional
     public EmployeeResponseDTO createEmployee(EmployeeRequestDTO requestDTO) {
@@ -27,34 +38,59 @@ public class EmployeeService {
         mapDtoToEntity(requestDTO, employee);
         Employee savedEmployee = employeeRepository.save(employee);
 
-        return new EmployeeResponseDTO(savedEmployee);
+        EmployeeResponseDTO responseDTO = new EmployeeResponseDTO(savedEmployee);
+        changeOutbox.record(ChangeEvent.EntityType.EMPLOYEE, savedEmployee.getId(), ChangeEvent.Operation.CREATED, responseDTO);
+        return responseDTO;
     }
 
     @Transactional(readOnly = true)
-    public List<EmployeeResponseDTO> getAllEmployees() {
-        return employeeRepository.findAll().stream()
-                .map(EmployeeResponseDTO::new)
-                .collect(Collectors.toList());
+    public PageResponseDTO<EmployeeResponseDTO> getAllEmployees(String cursor, LocalDateTime modifiedSince,
+                                                                Pageable pageable) {
+        if (modifiedSince != null) {
+            return deltaSync.changesSince(ChangeEvent.EntityType.EMPLOYEE, modifiedSince, cursor, pageable,
+                    employeeRepository::findChangedAfter, EmployeeResponseDTO::new);
+        }
+        Slice<EmployeeResponseDTO> employees = cursor == null
+                ? employeeRepository.findAllProjectedBy(KeysetCursor.offsetById(pageable))
+                : employeeRepository.findProjectedByIdGreaterThan(KeysetCursor.decodeId(cursor), KeysetCursor.seekById(pageable));
+
+        return KeysetCursor.toPage(employees, dto -> KeysetCursor.encode(dto.id()));
     }
 
     @Transactional(readOnly = true)
-    public EmployeeResponseDTO getEmployeeById(Long id) {
-        return new EmployeeResponseDTO(findEmployeeById(id));
+    public Tagged<EmployeeResponseDTO> getEmployeeById(Long id) {
+        Employee employee = findEmployeeById(id);
+        return new Tagged<>(new EmployeeResponseDTO(employee), EntityTags.of(employee.getVersion()));
+    }
+
+    public String getEmployeeTag(Long id) {
+        return employeeRepository.findTagById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Employee not found with id: " + id));
+    }
+
+    public String getEmployeesTag() {
+        return changeFeedService.collectionTag(EnumSet.of(ChangeEvent.EntityType.EMPLOYEE));
     }
 
     @Transactional
-    public EmployeeResponseDTO updateEmployee(Long id, EmployeeRequestDTO requestDTO) {
+    public EmployeeResponseDTO updateEmployee(Long id, EmployeeRequestDTO requestDTO, String expectedTag) {
         Employee existingEmployee = findEmployeeById(id);
+        EntityTags.requireMatch(expectedTag, EntityTags.of(existingEmployee.getVersion()));
         mapDtoToEntity(requestDTO, existingEmployee);
         Employee updatedEmployee = employeeRepository.save(existingEmployee);
 
-        return new EmployeeResponseDTO(updatedEmployee);
+        EmployeeResponseDTO responseDTO = new EmployeeResponseDTO(updatedEmployee);
+        eventPublisher.publishEvent(OrderHistoryChangedEvent.allCustomers());  // O histórico exibe o funcionário.
+        changeOutbox.record(ChangeEvent.EntityType.EMPLOYEE, id, ChangeEvent.Operation.UPDATED, responseDTO);
+        return responseDTO;
     }
 
     @Transactional
     public void deleteEmployee(Long id) {
         Employee employeeToDelete = findEmployeeById(id);
         employeeRepository.delete(employeeToDelete);
+        changeOutbox.record(ChangeEvent.EntityType.EMPLOYEE, id, ChangeEvent.Operation.DELETED, null);
+        deltaSync.recordDeletion(ChangeEvent.EntityType.EMPLOYEE, id);
     }
 
     public Employee findEmployeeById(Long id) {
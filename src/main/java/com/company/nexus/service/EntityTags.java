@@ -0,0 +1,34 @@
+package com.company.nexus.service;
+
+import com.company.nexus.exception.PreconditionFailedException;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * ETags fortes das leituras por ID: a versão (@Version) da entidade, seguida das versões das entidades cujos dados
+ * a resposta também traz (ex.: o fornecedor de um produto), separadas por ".". As consultas "findTagById" dos
+ * repositórios montam o mesmo valor no banco, sem carregar a entidade.
+ */
+final class EntityTags {
+
+    private EntityTags() {
+    }
+
+    static String of(Object... versions) {
+        return Arrays.stream(versions).map(String::valueOf).collect(Collectors.joining("."));
+    }
+
+    /**
+     * Confere o If-Match de uma alteração contra o ETag da entidade carregada na transação que vai gravá-la.
+     * Alterações confirmadas depois desta leitura continuam barradas pelo bloqueio otimista (409).
+     *
+     * @param expectedTag O ETag enviado pelo cliente, sem aspas; null grava sem condição.
+     */
+    static void requireMatch(String expectedTag, String currentTag) {
+        if (expectedTag != null && !expectedTag.equals(currentTag)) {
+            throw new PreconditionFailedException("The resource was modified: If-Match \"" + expectedTag
+                    + "\" does not match the current ETag \"" + currentTag + "\".");
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.company.nexus.service;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Resposta parcial das listagens: os campos pedidos em "?fields=" e as associações pedidas em "?embed=".
+ * A seleção vai até a consulta (ver ProductRepositoryCustom#findSparse e OrderRepositoryCustom#findSparse):
+ * só as colunas pedidas são lidas, e as associações fora do "embed" nem entram no JOIN.
+ *
+ * @param fields Os campos a devolver; sem "?fields=", todos. O "id" vem sempre.
+ * @param embeds As associações a incluir; sem "?embed=", nenhuma.
+ */
+record FieldSelection(Set<String> fields, Set<String> embeds) {
+
+    static FieldSelection parse(String fields, String embed, List<String> allowedFields, Set<String> allowedEmbeds) {
+        Set<String> selectedFields = fields == null
+                ? new LinkedHashSet<>(allowedFields)
+                : names("fields", fields, allowedFields);
+        selectedFields.add("id");
+        Set<String> selectedEmbeds = embed == null ? Set.of() : names("embed", embed, allowedEmbeds);
+        return new FieldSelection(Set.copyOf(selectedFields), Set.copyOf(selectedEmbeds));
+    }
+
+    boolean embeds(String association) {
+        return embeds.contains(association);
+    }
+
+    private static Set<String> names(String parameter, String value, Collection<String> allowed) {
+        Set<String> names = new LinkedHashSet<>();
+        for (String name : value.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            if (!allowed.contains(trimmed)) {
+                throw new IllegalArgumentException(
+                        "Unknown " + parameter + " '" + trimmed + "'. Allowed values: " + String.join(", ", allowed) + ".");
+            }
+            names.add(trimmed);
+        }
+        return names;
+    }
+}
@@ -0,0 +1,209 @@
+package com.company.nexus.service;
+
+import com.company.nexus.exception.IdempotencyKeyReuseException;
+import com.company.nexus.model.IdempotencyRecord;
+import com.company.nexus.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Guarda as respostas de requisições enviadas com o cabeçalho Idempotency-Key.
+ * <p>
+ * A primeira requisição com uma chave executa a operação e grava a resposta (tabela idempotency_keys) na mesma
+ * transação; repetições dentro de "nexus.idempotency.ttl" recebem essa resposta sem executar nada de novo.
+ * As respostas recentes ficam também em memória (Caffeine, limitado a "max-keys-in-memory"), e a entrada é criada
+ * antes da execução: repetições concorrentes da mesma chave esperam a primeira terminar em vez de disputá-la
+ * (single-flight). Entre instâncias, a chave primária da tabela decide quem grava primeiro.
+ * Falhas não são guardadas: a próxima tentativa com a mesma chave executa a operação normalmente.
+ */
+@Slf4j
+@Component
+@Timed("nexus.service")
+public class IdempotencyStore {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    public static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyRecordRepository repository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration ttl;
+    private final Duration waitTimeout;
+    private final Cache<String, CompletableFuture<StoredResponse>> responses;
+
+    public IdempotencyStore(IdempotencyRecordRepository repository, ObjectMapper objectMapper,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${nexus.idempotency.ttl:24h}") Duration ttl,
+                            @Value("${nexus.idempotency.max-keys-in-memory:10000}") long maxKeysInMemory,
+                            @Value("${nexus.idempotency.wait-timeout:10s}") Duration waitTimeout) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ttl = ttl;
+        this.waitTimeout = waitTimeout;
+        // Chaves que saem da memória continuam valendo: a próxima repetição as lê do banco.
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(maxKeysInMemory)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /**
+     * @param body     A resposta devolvida ao cliente.
+     * @param replayed true quando a resposta foi gravada por uma requisição anterior com a mesma chave.
+     */
+    public record Result<T>(T body, boolean replayed) {
+    }
+
+    private record StoredResponse(String fingerprint, String body) {
+    }
+
+    private record Execution<T>(StoredResponse stored, T body) {
+    }
+
+    /**
+     * Executa a operação uma única vez por chave.
+     *
+     * @param request O corpo da requisição: a mesma chave com outro corpo é recusada com 422.
+     * @param action  A operação; roda dentro da transação que grava a resposta.
+     */
+    public <T> Result<T> execute(String key, Object request, Class<T> responseType, Supplier<T> action) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException(HEADER + " must have between 1 and " + MAX_KEY_LENGTH + " characters.");
+        }
+        String fingerprint = fingerprint(request);
+
+        CompletableFuture<StoredResponse> pending = new CompletableFuture<>();
+        CompletableFuture<StoredResponse> first = responses.asMap().putIfAbsent(key, pending);
+        if (first != null) {
+            return replay(key, await(key, first), fingerprint, responseType);
+        }
+
+        StoredResponse stored;
+        T body = null;
+        try {
+            Optional<StoredResponse> persisted = findPersisted(key);
+            if (persisted.isPresent()) {
+                stored = persisted.get();
+            } else {
+                Execution<T> execution = executeAndStore(key, fingerprint, action);
+                stored = execution.stored();
+                body = execution.body();
+            }
+        } catch (RuntimeException ex) {
+            responses.asMap().remove(key, pending);
+            pending.completeExceptionally(ex);
+            throw ex;
+        }
+
+        pending.complete(stored);
+        return body != null ? new Result<>(body, false) : replay(key, stored, fingerprint, responseType);
+    }
+
+    /**
+     * Remove as chaves vencidas. Chaves vencidas ainda não removidas já são ignoradas na leitura.
+     */
+    @Scheduled(fixedDelayString = "${nexus.idempotency.purge-interval:1h}")
+    public void purgeExpired() {
+        Integer purged = transactionTemplate.execute(status -> repository.deleteExpired(LocalDateTime.now()));
+        if (purged != null && purged > 0) {
+            log.info("Purged {} expired idempotency keys", purged);
+        }
+    }
+
+    private <T> Execution<T> executeAndStore(String key, String fingerprint, Supplier<T> action) {
+        try {
+            return transactionTemplate.execute(status -> {
+                T body = action.get();
+                String json = toJson(body);
+                LocalDateTime now = LocalDateTime.now();
+                repository.save(new IdempotencyRecord(key, fingerprint, json, now, now.plus(ttl)));
+                return new Execution<>(new StoredResponse(fingerprint, json), body);
+            });
+        } catch (DataIntegrityViolationException ex) {
+            // Outra instância gravou a mesma chave primeiro; esta transação (e o que a operação gravou) foi desfeita.
+            return new Execution<>(findPersisted(key).orElseThrow(() -> ex), null);
+        }
+    }
+
+    private Optional<StoredResponse> findPersisted(String key) {
+        Optional<IdempotencyRecord> record = repository.findById(key);
+        if (record.isPresent() && record.get().isExpired(LocalDateTime.now())) {
+            repository.delete(record.get());  // A chave pode ser reutilizada depois do TTL.
+            return Optional.empty();
+        }
+        return record.map(stored -> new StoredResponse(stored.getFingerprint(), stored.getResponseBody()));
+    }
+
+    private StoredResponse await(String key, CompletableFuture<StoredResponse> first) {
+        try {
+            return first.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            throw new IllegalStateException("A request with " + HEADER + " " + key + " is still being processed. Retry later.");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for " + HEADER + " " + key, ex);
+        } catch (ExecutionException ex) {
+            // A primeira requisição falhou: as que esperavam por ela recebem o mesmo erro.
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    private <T> Result<T> replay(String key, StoredResponse stored, String fingerprint, Class<T> responseType) {
+        if (!stored.fingerprint().equals(fingerprint)) {
+            throw new IdempotencyKeyReuseException(
+                    HEADER + " " + key + " was already used with a different request body.");
+        }
+        try {
+            return new Result<>(objectMapper.readValue(stored.body(), responseType), true);
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private String fingerprint(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);  // SHA-256 faz parte de toda JVM.
+        }
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.company.nexus.service;
+
+import com.company.nexus.dto.PageResponseDTO;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Codifica e decodifica os cursores opacos da paginação por chave (keyset / seek).
+ * O cursor carrega os valores da chave de ordenação do último registro entregue, de modo que a
+ * próxima página é buscada com "WHERE chave > ?" em vez de "OFFSET n", com custo O(tamanho da página).
+ */
+final class KeysetCursor {
+
+    private static final String SEPARATOR = "|";
+    private static final Sort BY_ID = Sort.by("id");
+
+    private KeysetCursor() {
+    }
+
+    static String encode(Object... values) {
+        String raw = Arrays.stream(values).map(String::valueOf).collect(Collectors.joining(SEPARATOR));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static String[] decode(String cursor, int expectedValues) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, ex);
+        }
+
+        String[] values = raw.split("\\" + SEPARATOR, -1);
+        if (values.length != expectedValues) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        return values;
+    }
+
+    static Long decodeId(String cursor) {
+        return parse(cursor, decode(cursor, 1)[0], Long::valueOf);
+    }
+
+    /**
+     * Converte um dos valores decodificados do cursor, tratando falhas de conversão como cursor inválido.
+     */
+    static <T> T parse(String cursor, String value, Function<String, T> parser) {
+        try {
+            return parser.apply(value);
+        } catch (RuntimeException ex) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, ex);
+        }
+    }
+
+    /**
+     * Paginação por OFFSET, sempre ordenada por ID para que o cursor "next" continue válido.
+     */
+    static Pageable offsetById(Pageable pageable) {
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), BY_ID);
+    }
+
+    /**
+     * Paginação por chave: o cursor já posiciona a busca, então só o tamanho da página importa.
+     */
+    static Pageable seekById(Pageable pageable) {
+        return PageRequest.of(0, pageable.getPageSize(), BY_ID);
+    }
+
+    /**
+     * Monta a resposta paginada, gerando o cursor da próxima página a partir do último registro.
+     */
+    static <T> PageResponseDTO<T> toPage(Slice<T> slice, Function<T, String> cursorOf) {
+        String next = slice.hasNext() && slice.hasContent()
+                ? cursorOf.apply(slice.getContent().get(slice.getNumberOfElements() - 1))
+                : null;
+        return new PageResponseDTO<>(slice.getContent(), slice.getSize(), next);
+    }
+}
@@ -0,0 +1,131 @@
+package com.company.nexus.service;
+
+import com.company.nexus.dto.OrderResponseDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Cache read-through do histórico de pedidos por cliente (GET /api/v1/orders/customer/{id}).
+ * <p>
+ * Guarda, por cliente, os "max-orders-per-customer" pedidos mais recentes já convertidos em DTO; as páginas que
+ * cabem nesse trecho são recortadas em memória, sem consultas. O histórico só muda com novos pedidos,
+ * cancelamentos e alterações do cliente, que publicam {@link OrderHistoryChangedEvent}: a entrada do cliente é
+ * descartada depois do commit, então uma transação desfeita nunca invalida nem polui o cache. Alterações de
+ * produtos e funcionários, exibidos nos itens e nos pedidos, descartam o cache inteiro.
+ * O tamanho é limitado por peso (cada pedido vale 1 + a quantidade de itens).
+ */
+@Component
+public class OrderHistoryCache {
+
+    public static final String CACHE_NAME = "orderHistory";
+
+    private final boolean enabled;
+    private final int maxOrdersPerCustomer;
+    private final Cache<Long, History> cache;
+
+    public OrderHistoryCache(MeterRegistry meterRegistry,
+                             @Value("${nexus.orders.history-cache.enabled:true}") boolean enabled,
+                             @Value("${nexus.orders.history-cache.max-weight:200000}") long maxWeight,
+                             @Value("${nexus.orders.history-cache.max-orders-per-customer:100}") int maxOrdersPerCustomer,
+                             @Value("${nexus.orders.history-cache.expire-after-write:30m}") Duration expireAfterWrite) {
+        this.enabled = enabled;
+        this.maxOrdersPerCustomer = maxOrdersPerCustomer;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxWeight)
+                .weigher((Long customerId, History history) -> history.weight())
+                // Rede de segurança para alterações que não passam pelos serviços (ex.: SQL manual).
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        // cache_gets_total{result="hit|miss"}, cache_evictions_total, cache_size e cache_eviction_weight.
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Devolve o histórico do cliente, carregando-o com "loader" se ainda não estiver no cache.
+     * Cargas concorrentes do mesmo cliente são combinadas em uma só.
+     *
+     * @param loader Busca a primeira página do histórico no banco, com o tamanho recebido.
+     */
+    public History get(Long customerId, Function<Pageable, Slice<OrderResponseDTO>> loader) {
+        return cache.get(customerId, id -> History.of(loader.apply(PageRequest.of(0, maxOrdersPerCustomer))));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onOrderHistoryChanged(OrderHistoryChangedEvent event) {
+        if (event.customerId() == null) {
+            cache.invalidateAll();
+        } else {
+            cache.invalidate(event.customerId());
+        }
+    }
+
+    /**
+     * Os pedidos mais recentes de um cliente, do mais novo para o mais antigo.
+     *
+     * @param orders   Os pedidos guardados.
+     * @param complete true se "orders" é o histórico inteiro do cliente; false se há pedidos mais antigos no banco.
+     */
+    public record History(List<OrderResponseDTO> orders, boolean complete) {
+
+        static History of(Slice<OrderResponseDTO> firstPage) {
+            return new History(List.copyOf(firstPage.getContent()), !firstPage.hasNext());
+        }
+
+        int weight() {
+            return orders.stream().mapToInt(order -> 1 + order.items().size()).sum();
+        }
+
+        /**
+         * Posição do primeiro pedido posterior ao cursor (data, ID) na ordem do histórico.
+         */
+        public int indexAfter(LocalDateTime orderDate, Long id) {
+            int index = 0;
+            while (index < orders.size() && !isBefore(orders.get(index), orderDate, id)) {
+                index++;
+            }
+            return index;
+        }
+
+        /**
+         * Recorta a página que começa em "start".
+         *
+         * @return A página, ou vazio se ela ultrapassa o trecho guardado e precisa ser buscada no banco.
+         */
+        public Optional<Slice<OrderResponseDTO>> page(int start, int size) {
+            int end = start + size;
+            if (end > orders.size() && !complete) {
+                return Optional.empty();
+            }
+
+            List<OrderResponseDTO> content = orders.subList(Math.min(start, orders.size()), Math.min(end, orders.size()));
+            boolean hasNext = end < orders.size() || (end == orders.size() && !complete);
+            return Optional.of(new SliceImpl<>(content, PageRequest.of(0, size), hasNext));
+        }
+
+        private static boolean isBefore(OrderResponseDTO order, LocalDateTime orderDate, Long id) {
+            int byDate = order.orderDate().compareTo(orderDate);
+            return byDate < 0 || (byDate == 0 && order.id() < id);
+        }
+    }
+}
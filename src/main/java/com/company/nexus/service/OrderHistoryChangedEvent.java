@@ -0,0 +1,19 @@
+package com.company.nexus.service;
+
+/**
+ * Publicado quando o histórico de pedidos de um cliente muda (novo pedido, cancelamento ou alteração do nome
+ * do cliente); consumido após o commit pelo {@link OrderHistoryCache}.
+ *
+ * @param customerId O ID do cliente cujo histórico deve ser descartado; null descarta o de todos os clientes.
+ */
+public record OrderHistoryChangedEvent(
+        Long customerId
+) {
+
+    /**
+     * Para alterações de produtos e funcionários, que aparecem no histórico de clientes que não se sabe quais são.
+     */
+    public static OrderHistoryChangedEvent allCustomers() {
+        return new OrderHistoryChangedEvent(null);
+    }
+}
@@ -0,0 +1,215 @@
+package com.company.nexus.service;
+
+import com.company.nexus.dto.OrderRequestDTO;
+import com.company.nexus.dto.OrderSubmissionDTO;
+import com.company.nexus.exception.IngestionQueueFullException;
+import com.company.nexus.model.Order;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+
+/**
+ * Fila de ingestão assíncrona de pedidos.
+ * <p>
+ * O controller apenas enfileira a requisição (fila limitada) e devolve 202 com um trackingId, liberando a thread
+ * do Tomcat. Um pool fixo de workers retira da fila grupos de até "batch-size" pedidos e grava cada grupo em
+ * uma única transação, reaproveitando a validação e a precificação de {@link OrderService#buildOrder}.
+ * Com a fila cheia, novos envios são recusados com 429 em vez de acumular threads bloqueadas.
+ */
+@Slf4j
+@Service
+@Timed("nexus.service")
+public class OrderIngestionService {
+
+    private final OrderService orderService;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<Submission> queue;
+    private final int workers;
+    private final int batchSize;
+    private final Cache<UUID, OrderSubmissionDTO> submissions;
+    private final boolean virtualThreads;
+
+    private ExecutorService executor;
+    private volatile boolean running;
+
+    public OrderIngestionService(OrderService orderService, PlatformTransactionManager transactionManager,
+                                 Environment environment,
+                                 @Value("${nexus.orders.ingestion.queue-capacity:10000}") int queueCapacity,
+                                 @Value("${nexus.orders.ingestion.workers:4}") int workers,
+                                 @Value("${nexus.orders.ingestion.batch-size:50}") int batchSize,
+                                 @Value("${nexus.orders.ingestion.status-retention:1h}") Duration statusRetention) {
+        this.orderService = orderService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.workers = workers;
+        this.batchSize = batchSize;
+        // Os status ficam em memória só o tempo necessário para o cliente consultá-los.
+        this.submissions = Caffeine.newBuilder()
+                .expireAfterWrite(statusRetention)
+                .build();
+        this.virtualThreads = Threading.VIRTUAL.isActive(environment);  // spring.threads.virtual.enabled
+    }
+
+    private record Submission(UUID trackingId, OrderRequestDTO request) {
+    }
+
+    private record Outcome(Long orderId, String error) {
+
+        static Outcome completed(Long orderId) {
+            return new Outcome(orderId, null);
+        }
+
+        static Outcome failed(String error) {
+            return new Outcome(null, error);
+        }
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        // O número de workers continua fixo: é ele que limita quantas transações de ingestão rodam ao mesmo tempo.
+        ThreadFactory threadFactory = virtualThreads
+                ? Thread.ofVirtual().name("order-ingestion-", 1).factory()
+                : Thread.ofPlatform().name("order-ingestion-", 1).daemon().factory();
+        executor = Executors.newFixedThreadPool(workers, threadFactory);
+        for (int i = 0; i < workers; i++) {
+            executor.execute(this::drainQueue);
+        }
+    }
+
+    /**
+     * Para de aceitar envios e dá aos workers um prazo para esvaziar a fila antes do encerramento.
+     */
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("Order ingestion stopped with {} submissions still queued", queue.size());
+            executor.shutdownNow();
+        }
+    }
+
+    public OrderSubmissionDTO submit(OrderRequestDTO requestDTO) {
+        if (!running) {
+            throw new IngestionQueueFullException("Order ingestion is shutting down. Retry later.");
+        }
+
+        UUID trackingId = UUID.randomUUID();
+        OrderSubmissionDTO submission = OrderSubmissionDTO.queued(trackingId);
+        submissions.put(trackingId, submission);
+
+        // offer() não bloqueia: com a fila cheia o cliente recebe 429 imediatamente (back-pressure).
+        if (!queue.offer(new Submission(trackingId, requestDTO))) {
+            submissions.invalidate(trackingId);
+            throw new IngestionQueueFullException("Order ingestion queue is full. Retry later.");
+        }
+        return submission;
+    }
+
+    public OrderSubmissionDTO getSubmission(UUID trackingId) {
+        OrderSubmissionDTO submission = submissions.getIfPresent(trackingId);
+        if (submission == null) {
+            throw new EntityNotFoundException("Order submission not found with tracking id: " + trackingId);
+        }
+        return submission;
+    }
+
+    private void drainQueue() {
+        while (running || !queue.isEmpty()) {
+            try {
+                Submission first = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                List<Submission> group = new ArrayList<>(batchSize);
+                group.add(first);
+                queue.drainTo(group, batchSize - 1);  // Agrupa o que já estiver esperando, sem aguardar mais.
+                process(group);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException ex) {
+                log.error("Unexpected failure in order ingestion worker", ex);
+            }
+        }
+    }
+
+    private void process(List<Submission> group) {
+        group.forEach(submission -> update(submission.trackingId(), OrderSubmissionDTO::processing));
+
+        Map<Submission, Outcome> results;
+        try {
+            results = transactionTemplate.execute(status -> saveGroup(group));
+        } catch (RuntimeException ex) {
+            // Falha no banco (ex.: conflito ao gravar): isola o pedido problemático gravando um a um.
+            log.warn("Order ingestion group of {} failed, retrying individually", group.size(), ex);
+            results = new LinkedHashMap<>();
+            for (Submission submission : group) {
+                results.putAll(saveIndividually(submission));
+            }
+        }
+
+        results.forEach((submission, outcome) -> update(submission.trackingId(), current -> outcome.error() == null
+                ? current.completed(outcome.orderId())
+                : current.failed(outcome.error())));
+    }
+
+    /**
+     * Monta todos os pedidos do grupo e grava os válidos juntos. Pedidos rejeitados pela validação de negócio
+     * (cliente/produto inexistente etc.) ficam fora do grupo sem derrubar os demais.
+     *
+     * @return O resultado de cada envio: o ID do pedido criado ou o motivo da rejeição.
+     */
+    private Map<Submission, Outcome> saveGroup(List<Submission> group) {
+        Map<Submission, Outcome> results = new LinkedHashMap<>();
+        Map<Submission, Order> orders = new LinkedHashMap<>();
+        for (Submission submission : group) {
+            try {
+                orders.put(submission, orderService.buildOrder(submission.request()));
+            } catch (EntityNotFoundException | IllegalArgumentException | IllegalStateException ex) {
+                results.put(submission, Outcome.failed(ex.getMessage()));
+            }
+        }
+
+        orderService.saveOrders(List.copyOf(orders.values()));
+        orders.forEach((submission, order) -> results.put(submission, Outcome.completed(order.getId())));
+        return results;
+    }
+
+    private Map<Submission, Outcome> saveIndividually(Submission submission) {
+        try {
+            return transactionTemplate.execute(status -> saveGroup(List.of(submission)));
+        } catch (RuntimeException ex) {
+            return Map.of(submission, Outcome.failed("Order could not be saved: " + ex.getMessage()));
+        }
+    }
+
+    private void update(UUID trackingId, UnaryOperator<OrderSubmissionDTO> transition) {
+        submissions.asMap().computeIfPresent(trackingId, (id, current) -> transition.apply(current));
+    }
+}
@@ -0,0 +1,59 @@
+package com.company.nexus.service;
+
+import com.company.nexus.model.DailyRevenueId;
+import com.company.nexus.model.Order;
+import com.company.nexus.model.OrderItem;
+import com.company.nexus.model.RevenueDimension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Publicado pelo OrderService quando um pedido passa a contar (criação) ou deixa de contar (cancelamento) na
+ * receita; consumido após o commit pelo {@link RevenueSummaryWriter}.
+ *
+ * @param deltas O que somar (ou subtrair) de cada linha do resumo: uma para o cliente, uma para o funcionário
+ *               (se houver) e uma por produto do pedido.
+ */
+public record OrderRevenueEvent(
+        List<Delta> deltas
+) {
+
+    public record Delta(DailyRevenueId id, long orders, long quantity, BigDecimal revenue) {
+
+        Delta plus(Delta other) {
+            return new Delta(id, orders + other.orders, quantity + other.quantity, revenue.add(other.revenue));
+        }
+    }
+
+    public static OrderRevenueEvent created(Order order) {
+        return of(order, 1);
+    }
+
+    public static OrderRevenueEvent cancelled(Order order) {
+        return of(order, -1);
+    }
+
+    private static OrderRevenueEvent of(Order order, int sign) {
+        LocalDate date = order.getOrderDate().toLocalDate();
+        BigDecimal signum = BigDecimal.valueOf(sign);
+        long quantity = order.getItems().stream().mapToLong(OrderItem::getQuantity).sum();
+        BigDecimal total = order.getTotalAmount() == null ? BigDecimal.ZERO : order.getTotalAmount();
+
+        List<Delta> deltas = new ArrayList<>(order.getItems().size() + 2);
+        deltas.add(new Delta(new DailyRevenueId(RevenueDimension.CUSTOMER, order.getCustomer().getId(), date),
+                sign, sign * quantity, total.multiply(signum)));
+        if (order.getEmployee() != null) {
+            deltas.add(new Delta(new DailyRevenueId(RevenueDimension.EMPLOYEE, order.getEmployee().getId(), date),
+                    sign, sign * quantity, total.multiply(signum)));
+        }
+        for (OrderItem item : order.getItems()) {
+            BigDecimal subtotal = item.getUnitPrice().multiply(BigDecimal.valueOf(item.getQuantity()));
+            deltas.add(new Delta(new DailyRevenueId(RevenueDimension.PRODUCT, item.getProduct().getId(), date),
+                    sign, (long) sign * item.getQuantity(), subtotal.multiply(signum)));
+        }
+        return new OrderRevenueEvent(deltas);
+    }
+}
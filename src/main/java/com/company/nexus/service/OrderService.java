@@ -2,29 +2,58 @@ package com.company.nexus.service;
 
 import com.company.nexus.dto.OrderRequestDTO;
 import com.company.nexus.dto.OrderResponseDTO;
+import com.company.nexus.dto.PageResponseDTO;
 import com.company.nexus.model.*;
 import com.company.nexus.repository.OrderRepository;
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
+@Timed("nexus.service")  // Um timer por método público, com as tags "class" e "method" (TimedAspect).
 public class OrderService {
 
     private final OrderRepository orderRepository;
     private final CustomerService customerService;
     private final EmployeeService employeeService;
     private final ProductService productService;
+    private final OrderHistoryCache orderHistoryCache;
+    private final OrderStatusTransitions orderStatusTransitions;
+    private final ChangeOutbox changeOutbox;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public OrderResponseDTO createOrder(OrderRequestDTO requestDTO) {
+        Order savedOrder = orderRepository.save(buildOrder(requestDTO));
+        eventPublisher.publishEvent(new OrderHistoryChangedEvent(savedOrder.getCustomer().getId()));
+        eventPublisher.publishEvent(OrderRevenueEvent.created(savedOrder));
+
+        OrderResponseDTO responseDTO = new OrderResponseDTO(savedOrder);
+        changeOutbox.record(ChangeEvent.EntityType.ORDER, savedOrder.getId(), ChangeEvent.Operation.CREATED, responseDTO);
+        return responseDTO;
+    }
+
+    /**
+     * Valida a requisição e monta o pedido (itens, preços do banco e total), sem persisti-lo.
+     * Usado pela criação síncrona e pela fila de ingestão assíncrona (OrderIngestionService).
+     * Só faz leituras: uma falha aqui não compromete a transação em andamento.
+     */
+    public Order buildOrder(OrderRequestDTO requestDTO) {
         // 1. Buscar as entidades principais
         Customer customer = customerService.findCustomerById(requestDTO.customerId());
 
@@ -33,74 +62,244 @@ public class OrderService {
             employee = employeeService.findEmployeeById(requestDTO.employeeId());
         }
 
-        // 2. Processar os itens e calcular o total
+        // 2. Agrupar linhas repetidas do mesmo produto, preservando a ordem do pedido.
+        Map<Long, Integer> quantitiesByProductId = new LinkedHashMap<>();
+        for (var itemDto : requestDTO.items()) {
+            quantitiesByProductId.merge(itemDto.productId(), itemDto.quantity(), Integer::sum);
+        }
+
+        // 3. Buscar todos os produtos em uma única consulta e calcular o total
+        Map<Long, Product> products = productService.findProductsByIds(quantitiesByProductId.keySet());
+
         Order order = new Order();
         BigDecimal totalAmount = BigDecimal.ZERO;
 
-        for (var itemDto : requestDTO.items()) {
-            Product product = productService.findProductById(itemDto.productId());
+        for (var entry : quantitiesByProductId.entrySet()) {
+            Product product = products.get(entry.getKey());
+            int quantity = entry.getValue();
 
             OrderItem orderItem = new OrderItem();
             orderItem.setProduct(product);
-            orderItem.setQuantity(itemDto.quantity());
+            orderItem.setQuantity(quantity);
             orderItem.setUnitPrice(product.getPrice());  // Usa o preço do banco.
 
             order.addItem(orderItem);  // Adiciona o item ao pedido e estabelece a relação bidirecional
 
             totalAmount = totalAmount.add(
-                    product.getPrice().multiply(BigDecimal.valueOf(itemDto.quantity()))
+                    product.getPrice().multiply(BigDecimal.valueOf(quantity))
             );
         }
 
-        // 3. Montar e persistir o pedido
+        // 4. Montar o pedido
         order.setCustomer(customer);
         order.setEmployee(employee);
         order.setOrderDate(LocalDateTime.now());
-        order.setStatus("PENDING_PAYMENT");
+        order.setStatus(OrderStatus.PENDING_PAYMENT);
         order.setTotalAmount(totalAmount);
 
-        Order savedOrder = orderRepository.save(order);
-        return new OrderResponseDTO(savedOrder);
+        return order;
     }
 
+    /**
+     * Persiste um grupo de pedidos já montados por {@link #buildOrder} na mesma transação;
+     * os INSERTs de pedidos e itens saem em lotes JDBC.
+     */
+    @Transactional
+    public List<Order> saveOrders(List<Order> orders) {
+        List<Order> savedOrders = orderRepository.saveAll(orders);
+        savedOrders.stream()
+                .map(order -> order.getCustomer().getId())
+                .distinct()
+                .forEach(customerId -> eventPublisher.publishEvent(new OrderHistoryChangedEvent(customerId)));
+        for (Order order : savedOrders) {
+            eventPublisher.publishEvent(OrderRevenueEvent.created(order));
+            changeOutbox.record(ChangeEvent.EntityType.ORDER, order.getId(), ChangeEvent.Operation.CREATED,
+                    new OrderResponseDTO(order));
+        }
+        return savedOrders;
+    }
+
+    /**
+     * Lista os pedidos por ID ou, com "status", os pedidos nesse status do mais antigo para o mais recente
+     * (paginação por chave sobre o índice (status, order_date)).
+     */
     @Transactional(readOnly = true)
-    public List<OrderResponseDTO> getAllOrders() {
-        return orderRepository.findAll().stream().map(OrderResponseDTO::new).collect(Collectors.toList());
+    public PageResponseDTO<OrderResponseDTO> getAllOrders(String cursor, OrderStatus status, Pageable pageable) {
+        if (status != null) {
+            return getOrdersByStatus(status, cursor, pageable);
+        }
+
+        Slice<Order> orders = cursor == null
+                ? orderRepository.findAllBy(KeysetCursor.offsetById(pageable))
+                : orderRepository.findByIdGreaterThan(KeysetCursor.decodeId(cursor), KeysetCursor.seekById(pageable));
+        fetchItems(orders.getContent());
+
+        return KeysetCursor.toPage(orders.map(OrderResponseDTO::new), dto -> KeysetCursor.encode(dto.id()));
+    }
+
+    private PageResponseDTO<OrderResponseDTO> getOrdersByStatus(OrderStatus status, String cursor, Pageable pageable) {
+        Slice<Order> orders;
+        if (cursor == null) {
+            orders = orderRepository.findByStatusOrderByOrderDateAscIdAsc(
+                    status, PageRequest.of(pageable.getPageNumber(), pageable.getPageSize())
+            );
+        } else {
+            String[] position = KeysetCursor.decode(cursor, 2);
+            orders = orderRepository.findByStatusAfter(
+                    status,
+                    KeysetCursor.parse(cursor, position[0], LocalDateTime::parse),
+                    KeysetCursor.parse(cursor, position[1], Long::valueOf),
+                    PageRequest.of(0, pageable.getPageSize())
+            );
+        }
+        fetchItems(orders.getContent());
+
+        return KeysetCursor.toPage(
+                orders.map(OrderResponseDTO::new),
+                dto -> KeysetCursor.encode(dto.orderDate(), dto.id())
+        );
+    }
+
+    /**
+     * Listagem parcial (?fields= e ?embed=, ver {@link FieldSelection}), com os mesmos cursores de
+     * {@link #getAllOrders}. Sem "embed=items", os itens não são lidos; com "status", o "orderDate" vem sempre,
+     * porque é a chave da paginação.
+     */
+    @Transactional(readOnly = true)
+    public PageResponseDTO<Map<String, Object>> getOrdersSparse(String cursor, OrderStatus status, String fields,
+                                                                String embed, Pageable pageable) {
+        FieldSelection selection = FieldSelection.parse(fields, embed, OrderRepository.SPARSE_FIELDS,
+                Set.of(OrderRepository.ITEMS));
+        boolean withItems = selection.embeds(OrderRepository.ITEMS);
+
+        if (status == null) {
+            Slice<Map<String, Object>> orders = cursor == null
+                    ? orderRepository.findSparse(selection.fields(), withItems, null, KeysetCursor.offsetById(pageable))
+                    : orderRepository.findSparse(selection.fields(), withItems, KeysetCursor.decodeId(cursor),
+                            KeysetCursor.seekById(pageable));
+            return KeysetCursor.toPage(orders, order -> KeysetCursor.encode(order.get("id")));
+        }
+
+        Set<String> fieldsWithKey = new HashSet<>(selection.fields());
+        fieldsWithKey.add("orderDate");
+        Slice<Map<String, Object>> orders;
+        if (cursor == null) {
+            orders = orderRepository.findSparseByStatus(fieldsWithKey, withItems, status, null, null,
+                    PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()));
+        } else {
+            String[] position = KeysetCursor.decode(cursor, 2);
+            orders = orderRepository.findSparseByStatus(
+                    fieldsWithKey,
+                    withItems,
+                    status,
+                    KeysetCursor.parse(cursor, position[0], LocalDateTime::parse),
+                    KeysetCursor.parse(cursor, position[1], Long::valueOf),
+                    PageRequest.of(0, pageable.getPageSize())
+            );
+        }
+        return KeysetCursor.toPage(orders, order -> KeysetCursor.encode(order.get("orderDate"), order.get("id")));
     }
 
     @Transactional(readOnly = true)
-    public OrderResponseDTO getOrderById(Long id) {
+    public Tagged<OrderResponseDTO> getOrderById(Long id) {
         Order order = findOrderById(id);
-        return new OrderResponseDTO(order);
+        return new Tagged<>(new OrderResponseDTO(order), tagOf(order));
     }
 
+    /**
+     * ETag de GET /{id} sem carregar o pedido (ver OrderRepository#findTagById); o mesmo que {@link #getOrderById}
+     * devolve a partir do pedido lido.
+     */
+    public String getOrderTag(Long id) {
+        return orderRepository.findTagById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Order not found with id: " + id));
+    }
+
+    /**
+     * Histórico do cliente, do mais recente para o mais antigo. As páginas dentro do trecho guardado pelo
+     * {@link OrderHistoryCache} não vão ao banco; as demais seguem pelo índice (customer_id, order_date).
+     */
     @Transactional(readOnly = true)
-    public List<OrderResponseDTO> getOrdersByCustomerId(Long customerId) {
+    public PageResponseDTO<OrderResponseDTO> getOrdersByCustomerId(Long customerId, String cursor, Pageable pageable) {
         customerService.findCustomerById(customerId);
-        return orderRepository.findByCustomerId(customerId).stream()
-                .map(OrderResponseDTO::new)
-                .collect(Collectors.toList());
-    }
 
-    @Transactional
-    public OrderResponseDTO cancelOrder(Long id) {
-        // 1. Buscar o pedido.
-        Order order = findOrderById(id);
+        // O cursor guarda (data, ID) do último pedido entregue: a busca continua pelo índice, sem OFFSET.
+        LocalDateTime beforeDate = null;
+        Long beforeId = null;
+        if (cursor != null) {
+            String[] position = KeysetCursor.decode(cursor, 2);
+            beforeDate = KeysetCursor.parse(cursor, position[0], LocalDateTime::parse);
+            beforeId = KeysetCursor.parse(cursor, position[1], Long::valueOf);
+        }
 
-        // 2. Validar Estado. Só permite o cancelamento se o status for adequado.
-        if (!"PENDING_PAYMENT".equals(order.getStatus())) {
-            throw new IllegalStateException("Order cannot be canceled because it is already in status: " + order.getStatus());
+        Slice<OrderResponseDTO> orders = null;
+        if (orderHistoryCache.isEnabled()) {
+            OrderHistoryCache.History history = orderHistoryCache.get(
+                    customerId, firstPage -> findHistory(customerId, null, null, firstPage)
+            );
+            int start = cursor == null ? (int) pageable.getOffset() : history.indexAfter(beforeDate, beforeId);
+            orders = history.page(start, pageable.getPageSize()).orElse(null);
+        }
+        if (orders == null) {
+            Pageable page = cursor == null
+                    ? PageRequest.of(pageable.getPageNumber(), pageable.getPageSize())
+                    : PageRequest.of(0, pageable.getPageSize());
+            orders = findHistory(customerId, beforeDate, beforeId, page);
         }
 
-        // 3. Transição de Estado.
-        order.setStatus("CANCELLED");
+        return KeysetCursor.toPage(orders, dto -> KeysetCursor.encode(dto.orderDate(), dto.id()));
+    }
 
-        Order cancelledOrder = orderRepository.save(order);
-        return new OrderResponseDTO(cancelledOrder);
+    /**
+     * Transições de status (as válidas estão em {@link OrderStatus}). Não são @Transactional: a verificação do
+     * status e a gravação são um único UPDATE condicional, executado (e repetido em caso de falha transitória)
+     * pelo {@link OrderStatusTransitions} em sua própria transação.
+     */
+    public OrderResponseDTO payOrder(Long id) {
+        return orderStatusTransitions.apply(id, OrderStatus.PAID, OrderResponseDTO::new);
+    }
+
+    public OrderResponseDTO shipOrder(Long id) {
+        return orderStatusTransitions.apply(id, OrderStatus.SHIPPED, OrderResponseDTO::new);
+    }
+
+    public OrderResponseDTO deliverOrder(Long id) {
+        return orderStatusTransitions.apply(id, OrderStatus.DELIVERED, OrderResponseDTO::new);
+    }
+
+    public OrderResponseDTO cancelOrder(Long id) {
+        // Só permite o cancelamento de pedidos aguardando pagamento. O pedido sai da receita (daily_revenue).
+        return orderStatusTransitions.apply(id, OrderStatus.CANCELLED, order -> {
+            eventPublisher.publishEvent(OrderRevenueEvent.cancelled(order));
+            return new OrderResponseDTO(order);
+        });
+    }
+
+    private static String tagOf(Order order) {
+        long productVersions = order.getItems().stream().mapToLong(item -> item.getProduct().getVersion()).sum();
+        return EntityTags.of(order.getVersion(), order.getCustomer().getVersion(),
+                order.getEmployee() != null ? order.getEmployee().getVersion() : "-", productVersions);
     }
 
     private Order findOrderById(Long id) {
-        return orderRepository.findById(id)
+        return orderRepository.findWithDetailsById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Order not found with id: " + id));
     }
+
+    private Slice<OrderResponseDTO> findHistory(Long customerId, LocalDateTime beforeDate, Long beforeId, Pageable page) {
+        Slice<Order> orders = beforeDate == null
+                ? orderRepository.findByCustomerIdOrderByOrderDateDescIdDesc(customerId, page)
+                : orderRepository.findByCustomerIdBefore(customerId, beforeDate, beforeId, page);
+        fetchItems(orders.getContent());
+        return orders.map(OrderResponseDTO::new);
+    }
+
+    /**
+     * Carrega os itens de todos os pedidos de uma página com uma única consulta adicional.
+     */
+    private void fetchItems(List<Order> orders) {
+        if (!orders.isEmpty()) {
+            orderRepository.fetchItemsByIdIn(orders.stream().map(Order::getId).toList());
+        }
+    }
 }
@@ -0,0 +1,107 @@
+package com.company.nexus.service;
+
+import com.company.nexus.dto.OrderResponseDTO;
+import com.company.nexus.model.ChangeEvent;
+import com.company.nexus.model.Order;
+import com.company.nexus.model.OrderStatus;
+import com.company.nexus.repository.OrderRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+/**
+ * Aplica transições de status de pedidos sem bloquear a linha.
+ * <p>
+ * As transições válidas vêm da tabela de {@link OrderStatus}. Cada transição é um UPDATE condicional
+ * ("WHERE status IN (status de origem)"): entre duas transições concorrentes do mesmo
+ * pedido, exatamente uma é aplicada e a outra recebe 409 com o status atual; nenhuma é perdida ou sobrescrita.
+ * Falhas transitórias de concorrência do banco (deadlock, timeout de lock, falha de serialização) são repetidas
+ * em uma nova transação até "max-attempts" vezes, com espera crescente.
+ */
+@Slf4j
+@Component
+@Timed("nexus.service")
+public class OrderStatusTransitions {
+
+    private final OrderRepository orderRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ChangeOutbox changeOutbox;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+    private final Duration backoff;
+
+    public OrderStatusTransitions(OrderRepository orderRepository, ApplicationEventPublisher eventPublisher,
+                                  ChangeOutbox changeOutbox, PlatformTransactionManager transactionManager,
+                                  @Value("${nexus.orders.transitions.max-attempts:3}") int maxAttempts,
+                                  @Value("${nexus.orders.transitions.backoff:20ms}") Duration backoff) {
+        this.orderRepository = orderRepository;
+        this.eventPublisher = eventPublisher;
+        this.changeOutbox = changeOutbox;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxAttempts = maxAttempts;
+        this.backoff = backoff;
+    }
+
+    /**
+     * Move o pedido para "target" se o status atual permitir essa transição.
+     *
+     * @param result Converte o pedido já atualizado (com itens e produtos), ainda dentro da transação.
+     * @throws EntityNotFoundException Se o pedido não existe.
+     * @throws IllegalStateException   Se o pedido está em um status que não permite a transição.
+     */
+    public <T> T apply(Long orderId, OrderStatus target, Function<Order, T> result) {
+        Set<OrderStatus> expected = target.sources();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> applyOnce(orderId, expected, target, result));
+            } catch (ConcurrencyFailureException ex) {
+                // Dentro de uma transação do chamador não há como repetir: ela já está marcada para rollback.
+                if (attempt >= maxAttempts || TransactionSynchronizationManager.isActualTransactionActive()) {
+                    throw ex;
+                }
+                log.debug("Order {} transition to {} failed on attempt {}, retrying", orderId, target, attempt, ex);
+                pause(attempt, ex);
+            }
+        }
+    }
+
+    private <T> T applyOnce(Long orderId, Set<OrderStatus> expected, OrderStatus target, Function<Order, T> result) {
+        if (orderRepository.updateStatus(orderId, expected, target) == 0) {
+            OrderStatus current = orderRepository.findStatusById(orderId)
+                    .orElseThrow(() -> new EntityNotFoundException("Order not found with id: " + orderId));
+            if (expected.contains(current)) {
+                // O status mudou e voltou entre o UPDATE e a leitura: tenta de novo em uma nova transação.
+                throw new ConcurrencyFailureException("Order " + orderId + " changed status concurrently");
+            }
+            throw new IllegalStateException("Order cannot be moved from " + current + " to " + target + ".");
+        }
+
+        Order order = orderRepository.findWithDetailsById(orderId)
+                .orElseThrow(() -> new EntityNotFoundException("Order not found with id: " + orderId));
+        eventPublisher.publishEvent(new OrderHistoryChangedEvent(order.getCustomer().getId()));
+        changeOutbox.record(ChangeEvent.EntityType.ORDER, orderId, ChangeEvent.Operation.UPDATED, new OrderResponseDTO(order));
+        return result.apply(order);
+    }
+
+    private void pause(int attempt, ConcurrencyFailureException cause) {
+        long maxMillis = backoff.toMillis() * attempt;
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(maxMillis / 2, maxMillis + 1));  // Com jitter.
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw cause;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.company.nexus.service;
+
+import com.company.nexus.dto.ProductResponseDTO;
+
+/**
+ * Publicado pelo ProductService quando um produto é criado, alterado ou excluído; consumido após o commit
+ * pelo {@link ProductSearchIndex}.
+ *
+ * @param productId O ID do produto.
+ * @param product   O estado gravado, ou null se o produto foi excluído.
+ */
+public record ProductChangedEvent(
+        Long productId,
+        ProductResponseDTO product
+) {
+
+    public static ProductChangedEvent saved(ProductResponseDTO product) {
+        return new ProductChangedEvent(product.id(), product);
+    }
+
+    public static ProductChangedEvent deleted(Long productId) {
+        return new ProductChangedEvent(productId, null);
+    }
+}
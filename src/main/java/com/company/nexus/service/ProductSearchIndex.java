@@ -0,0 +1,286 @@
+package com.company.nexus.service;
+
+import com.company.nexus.dto.ProductResponseDTO;
+import com.company.nexus.repository.ProductRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilter;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.FuzzyQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherFactory;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Índice invertido (Lucene) dos produtos, mantido no próprio processo para a busca textual.
+ * <p>
+ * É reconstruído a partir da tabela "products" na subida da aplicação e atualizado incrementalmente pelos
+ * {@link ProductChangedEvent} publicados pelo ProductService, somente depois do commit: um rollback nunca chega
+ * ao índice. O índice guarda apenas o necessário para achar e ranquear (nome, descrição, SKU e fornecedor);
+ * os dados devolvidos ao cliente são lidos do banco pelos IDs encontrados.
+ */
+@Slf4j
+@Component
+@Timed("nexus.service")
+public class ProductSearchIndex {
+
+    public static final int MAX_RESULTS = 100;
+
+    private static final String ID = "id";
+    private static final String NAME = "name";
+    private static final String DESCRIPTION = "description";
+    private static final String SKU = "sku";
+    private static final String SUPPLIER_ID = "supplierId";
+
+    // Termos da consulta considerados; o restante é ignorado para manter o custo da busca previsível.
+    private static final int MAX_QUERY_TERMS = 8;
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final int MIN_FUZZY_LENGTH = 4;
+
+    private final ProductRepository productRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Analyzer analyzer = new ProductAnalyzer();
+    private final Directory directory;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+    // Alterações ainda não visíveis para a busca; o próximo search() reabre o leitor (near-real-time) uma vez só.
+    private final AtomicBoolean pendingChanges = new AtomicBoolean();
+
+    public ProductSearchIndex(ProductRepository productRepository, PlatformTransactionManager transactionManager,
+                              @Value("${nexus.search.index-directory:}") String indexDirectory) throws IOException {
+        this.productRepository = productRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        // Sem diretório configurado o índice fica no heap; com catálogos grandes, prefira um diretório local (mmap).
+        this.directory = indexDirectory.isBlank() ? new ByteBuffersDirectory() : FSDirectory.open(Path.of(indexDirectory));
+        IndexWriterConfig config = new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE)
+                .setRAMBufferSizeMB(64);
+        this.writer = new IndexWriter(directory, config);
+        this.searcherManager = new SearcherManager(writer, new SearcherFactory());
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    /**
+     * Reindexa todo o catálogo lendo a tabela em stream (sem carregar os produtos em memória).
+     * Executado na subida da aplicação; pode ser chamado novamente para reconstruir o índice.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        Long indexed = transactionTemplate.execute(status -> {
+            try (Stream<ProductResponseDTO> products = productRepository.streamAllProjectedBy()) {
+                writer.deleteAll();
+                long count = 0;
+                for (ProductResponseDTO product : (Iterable<ProductResponseDTO>) products::iterator) {
+                    writer.addDocument(toDocument(product));
+                    count++;
+                }
+                return count;
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Could not rebuild the product search index", ex);
+            }
+        });
+        refresh();
+        log.info("Product search index rebuilt with {} products in {} ms", indexed, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onProductChanged(ProductChangedEvent event) {
+        try {
+            Term id = new Term(ID, event.productId().toString());
+            if (event.product() == null) {
+                writer.deleteDocuments(id);
+            } else {
+                writer.updateDocument(id, toDocument(event.product()));
+            }
+            pendingChanges.set(true);
+        } catch (IOException ex) {
+            // O banco já confirmou a alteração; o índice se corrige no próximo rebuild.
+            log.error("Could not update product {} in the search index", event.productId(), ex);
+        }
+    }
+
+    /**
+     * Busca produtos por nome, descrição ou SKU.
+     * <p>
+     * Todos os termos da consulta precisam aparecer no nome ou na descrição (com os termos mais relevantes no nome);
+     * alternativamente, a consulta inteira pode ser um SKU. O ranking é o BM25 do Lucene com pesos por campo.
+     *
+     * @param query      O texto digitado pelo cliente. Acentos e maiúsculas são ignorados.
+     * @param supplierId Restringe aos produtos do fornecedor, se informado.
+     * @param prefix     Aceita termos incompletos ("tecl" encontra "teclado").
+     * @param fuzzy      Tolera erros de digitação (1 edição a partir de 4 letras, 2 a partir de 8).
+     * @param limit      Máximo de resultados (até {@link #MAX_RESULTS}).
+     * @return Os IDs dos produtos encontrados, do mais para o menos relevante.
+     */
+    public List<Long> search(String query, Long supplierId, boolean prefix, boolean fuzzy, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query must not be blank.");
+        }
+        if (limit < 1 || limit > MAX_RESULTS) {
+            throw new IllegalArgumentException("Search limit must be between 1 and " + MAX_RESULTS + ".");
+        }
+
+        if (pendingChanges.compareAndSet(true, false)) {
+            refresh();
+        }
+
+        Query luceneQuery = buildQuery(query, supplierId, prefix, fuzzy);
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                ScoreDoc[] hits = searcher.search(luceneQuery, limit).scoreDocs;
+                StoredFields storedFields = searcher.storedFields();
+                List<Long> ids = new ArrayList<>(hits.length);
+                for (ScoreDoc hit : hits) {
+                    ids.add(Long.valueOf(storedFields.document(hit.doc).get(ID)));
+                }
+                return ids;
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Product search failed", ex);
+        }
+    }
+
+    private Query buildQuery(String text, Long supplierId, boolean prefix, boolean fuzzy) {
+        BooleanQuery.Builder terms = new BooleanQuery.Builder();
+        List<String> tokens = analyze(text);
+        for (String token : tokens.subList(0, Math.min(tokens.size(), MAX_QUERY_TERMS))) {
+            BooleanQuery.Builder alternatives = new BooleanQuery.Builder();
+            addAlternatives(alternatives, NAME, token, 3f, prefix, fuzzy);
+            addAlternatives(alternatives, DESCRIPTION, token, 1f, prefix, fuzzy);
+            terms.add(alternatives.build(), BooleanClause.Occur.MUST);
+        }
+
+        String sku = text.trim().toLowerCase(Locale.ROOT);
+        BooleanQuery.Builder query = new BooleanQuery.Builder()
+                .add(terms.build(), BooleanClause.Occur.SHOULD)
+                .add(new BoostQuery(new TermQuery(new Term(SKU, sku)), 10f), BooleanClause.Occur.SHOULD)
+                .setMinimumNumberShouldMatch(1);
+        if (prefix && sku.length() >= MIN_PREFIX_LENGTH) {
+            query.add(new BoostQuery(new PrefixQuery(new Term(SKU, sku)), 2f), BooleanClause.Occur.SHOULD);
+        }
+        if (supplierId != null) {
+            query.add(LongPoint.newExactQuery(SUPPLIER_ID, supplierId), BooleanClause.Occur.FILTER);
+        }
+        return query.build();
+    }
+
+    // A correspondência exata pesa mais que a por prefixo, que pesa mais que a aproximada.
+    private static void addAlternatives(BooleanQuery.Builder alternatives, String field, String token, float boost,
+                                        boolean prefix, boolean fuzzy) {
+        Term term = new Term(field, token);
+        alternatives.add(new BoostQuery(new TermQuery(term), boost), BooleanClause.Occur.SHOULD);
+        if (prefix && token.length() >= MIN_PREFIX_LENGTH) {
+            alternatives.add(new BoostQuery(new PrefixQuery(term), boost * 0.5f), BooleanClause.Occur.SHOULD);
+        }
+        if (fuzzy && token.length() >= MIN_FUZZY_LENGTH) {
+            int maxEdits = token.length() >= 8 ? 2 : 1;
+            alternatives.add(new BoostQuery(new FuzzyQuery(term, maxEdits), boost * 0.3f), BooleanClause.Occur.SHOULD);
+        }
+    }
+
+    private List<String> analyze(String text) {
+        List<String> tokens = new ArrayList<>();
+        try (TokenStream stream = analyzer.tokenStream(NAME, text)) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                tokens.add(term.toString());
+            }
+            stream.end();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return tokens;
+    }
+
+    private static Document toDocument(ProductResponseDTO product) {
+        Document document = new Document();
+        document.add(new StringField(ID, product.id().toString(), Field.Store.YES));
+        document.add(new TextField(NAME, product.name(), Field.Store.NO));
+        if (product.description() != null) {
+            document.add(new TextField(DESCRIPTION, product.description(), Field.Store.NO));
+        }
+        document.add(new StringField(SKU, product.sku().toLowerCase(Locale.ROOT), Field.Store.NO));
+        document.add(new LongPoint(SUPPLIER_ID, product.supplier().id()));
+        return document;
+    }
+
+    private void refresh() {
+        try {
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not refresh the product search index", ex);
+        }
+    }
+
+    /**
+     * Tokenização padrão do Lucene, em minúsculas e sem acentos ("Mecânico" e "mecanico" são o mesmo termo).
+     */
+    private static final class ProductAnalyzer extends Analyzer {
+
+        @Override
+        protected TokenStreamComponents createComponents(String fieldName) {
+            Tokenizer tokenizer = new StandardTokenizer();
+            TokenStream stream = new ASCIIFoldingFilter(new LowerCaseFilter(tokenizer));
+            return new TokenStreamComponents(tokenizer, stream);
+        }
+
+        @Override
+        protected TokenStream normalize(String fieldName, TokenStream in) {
+            return new ASCIIFoldingFilter(new LowerCaseFilter(in));
+        }
+    }
+}
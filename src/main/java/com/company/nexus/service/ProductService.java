@@ -1,24 +1,46 @@
 package com.company.nexus.service;
 
+import com.company.nexus.dto.ImportErrorDTO;
+import com.company.nexus.dto.ImportReportDTO;
+import com.company.nexus.dto.PageResponseDTO;
 import com.company.nexus.dto.ProductRequestDTO;
 import com.company.nexus.dto.ProductResponseDTO;
+import com.company.nexus.model.ChangeEvent;
 import com.company.nexus.model.Product;
 import com.company.nexus.model.Supplier;
 import com.company.nexus.repository.ProductRepository;
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
+@Timed("nexus.service")
 public class ProductService {
 
     private final ProductRepository productRepository;
     private final SupplierService supplierService;
+    private final DataExporter dataExporter;
+    private final BulkImporter bulkImporter;
+    private final ProductSearchIndex productSearchIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ChangeOutbox changeOutbox;
+    private final DeltaSync deltaSync;
+    private final ChangeFeedService changeFeedService;
 
     @Transactional
     public ProductResponseDTO createProduct(ProductRequestDTO requestDTO) {
@@ -31,39 +53,125 @@ public class ProductService {
         mapDtoToEntity(requestDTO, product, supplier);
         Product savedProduct = productRepository.save(product);
 
-        return new ProductResponseDTO(savedProduct);
+        ProductResponseDTO responseDTO = new ProductResponseDTO(savedProduct);
+        eventPublisher.publishEvent(ProductChangedEvent.saved(responseDTO));  // Indexado após o commit.
+        changeOutbox.record(ChangeEvent.EntityType.PRODUCT, responseDTO.id(), ChangeEvent.Operation.CREATED, responseDTO);
+        return responseDTO;
     }
 
     @Transactional(readOnly = true)
-    public List<ProductResponseDTO> getAllProducts() {
-        return productRepository.findAll()
+    public PageResponseDTO<ProductResponseDTO> getAllProducts(String cursor, LocalDateTime modifiedSince,
+                                                              Pageable pageable) {
+        if (modifiedSince != null) {
+            return deltaSync.changesSince(ChangeEvent.EntityType.PRODUCT, modifiedSince, cursor, pageable,
+                    productRepository::findChangedAfter, ProductResponseDTO::new);
+        }
+        Slice<ProductResponseDTO> products = cursor == null
+                ? productRepository.findAllProjectedBy(KeysetCursor.offsetById(pageable))
+                : productRepository.findProjectedByIdGreaterThan(KeysetCursor.decodeId(cursor), KeysetCursor.seekById(pageable));
+
+        return KeysetCursor.toPage(products, dto -> KeysetCursor.encode(dto.id()));
+    }
+
+    /**
+     * Listagem parcial (?fields= e ?embed=, ver {@link FieldSelection}), com o mesmo cursor da listagem completa.
+     * Sem "embed=supplier", a consulta não passa pela tabela de fornecedores.
+     */
+    @Transactional(readOnly = true)
+    public PageResponseDTO<Map<String, Object>> getProductsSparse(String cursor, LocalDateTime modifiedSince,
+                                                                  String fields, String embed, Pageable pageable) {
+        if (modifiedSince != null) {
+            throw new IllegalArgumentException("fields and embed are not supported together with modifiedSince.");
+        }
+        FieldSelection selection = FieldSelection.parse(fields, embed, ProductRepository.SPARSE_FIELDS,
+                Set.of(ProductRepository.SUPPLIER));
+        boolean withSupplier = selection.embeds(ProductRepository.SUPPLIER);
+
+        Slice<Map<String, Object>> products = cursor == null
+                ? productRepository.findSparse(selection.fields(), withSupplier, null, KeysetCursor.offsetById(pageable))
+                : productRepository.findSparse(selection.fields(), withSupplier, KeysetCursor.decodeId(cursor),
+                        KeysetCursor.seekById(pageable));
+        return KeysetCursor.toPage(products, product -> KeysetCursor.encode(product.get("id")));
+    }
+
+    /**
+     * Busca textual no índice em memória (ProductSearchIndex). Os produtos encontrados são lidos do banco
+     * em uma única consulta e devolvidos na ordem de relevância; IDs que não existem mais são descartados.
+     */
+    @Transactional(readOnly = true)
+    public List<ProductResponseDTO> searchProducts(String query, Long supplierId, boolean prefix, boolean fuzzy,
+                                                   int limit) {
+        List<Long> rankedIds = productSearchIndex.search(query, supplierId, prefix, fuzzy, limit);
+        if (rankedIds.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, ProductResponseDTO> products = productRepository.findProjectedByIdIn(rankedIds)
                 .stream()
-                .map(ProductResponseDTO::new)  // Converte cada Product em ProductResponseDTO
-                .collect(Collectors.toList());
+                .collect(Collectors.toMap(ProductResponseDTO::id, Function.identity()));
+        return rankedIds.stream()
+                .map(products::get)
+                .filter(Objects::nonNull)
+                .toList();
     }
 
     @Transactional(readOnly = true)
-    public ProductResponseDTO getProductById(Long id) {
+    public void exportProducts(ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<ProductResponseDTO> products = productRepository.streamAllProjectedBy()) {
+            dataExporter.write(products, ProductResponseDTO.class, format, out);
+        }
+    }
+
+    /**
+     * Importa um catálogo inteiro (NDJSON ou CSV) em chunks. Cada chunk verifica os SKUs com uma única consulta,
+     * resolve os fornecedores de uma vez e grava os produtos em lotes JDBC.
+     * Não é @Transactional: cada chunk é confirmado separadamente pelo BulkImporter.
+     */
+    public ImportReportDTO importProducts(ExportFormat format, InputStream in) throws IOException {
+        return bulkImporter.importRows(in, format, ProductRequestDTO.class, this::saveProductChunk);
+    }
+
+    @Transactional(readOnly = true)
+    public Tagged<ProductResponseDTO> getProductById(Long id) {
         Product product = findProductById(id);
 
-        return new ProductResponseDTO(product);
+        return new Tagged<>(new ProductResponseDTO(product), tagOf(product));
+    }
+
+    public String getProductTag(Long id) {
+        return productRepository.findTagById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Product not found with id: " + id));
+    }
+
+    // A listagem traz os dados dos fornecedores: alterações neles também mudam o ETag.
+    public String getProductsTag() {
+        return changeFeedService.collectionTag(
+                EnumSet.of(ChangeEvent.EntityType.PRODUCT, ChangeEvent.EntityType.SUPPLIER));
     }
 
     @Transactional
-    public ProductResponseDTO updateProduct(Long id, ProductRequestDTO requestDTO) {
+    public ProductResponseDTO updateProduct(Long id, ProductRequestDTO requestDTO, String expectedTag) {
         Product existingProduct = findProductById(id);
+        EntityTags.requireMatch(expectedTag, tagOf(existingProduct));
         Supplier existingSupplier = supplierService.findSupplierById(requestDTO.supplierId());
 
         mapDtoToEntity(requestDTO, existingProduct, existingSupplier);
         Product updatedProduct = productRepository.save(existingProduct);
 
-        return new ProductResponseDTO(updatedProduct);
+        ProductResponseDTO responseDTO = new ProductResponseDTO(updatedProduct);
+        eventPublisher.publishEvent(ProductChangedEvent.saved(responseDTO));
+        eventPublisher.publishEvent(OrderHistoryChangedEvent.allCustomers());  // O histórico exibe o nome do produto.
+        changeOutbox.record(ChangeEvent.EntityType.PRODUCT, id, ChangeEvent.Operation.UPDATED, responseDTO);
+        return responseDTO;
     }
 
     @Transactional
     public void deleteProduct(Long id) {
         Product productToDelete = findProductById(id);
         productRepository.delete(productToDelete);
+        eventPublisher.publishEvent(ProductChangedEvent.deleted(id));
+        changeOutbox.record(ChangeEvent.EntityType.PRODUCT, id, ChangeEvent.Operation.DELETED, null);
+        deltaSync.recordDeletion(ChangeEvent.EntityType.PRODUCT, id);
     }
 
     public Product findProductById(Long id) {
@@ -71,6 +179,69 @@ public class ProductService {
                 .orElseThrow(() -> new EntityNotFoundException("Product not found with id: " + id));
     }
 
+    /**
+     * Resolve vários produtos de uma só vez: os que já estão no cache de segundo nível não vão ao banco
+     * e os demais são buscados em uma única consulta.
+     * Todos os IDs ausentes são reportados juntos em uma única EntityNotFoundException.
+     *
+     * @param ids Os IDs dos produtos (duplicados são ignorados).
+     * @return Um mapa ID -> Produto contendo todos os IDs solicitados.
+     */
+    public Map<Long, Product> findProductsByIds(Collection<Long> ids) {
+        Set<Long> uniqueIds = new LinkedHashSet<>(ids);
+        Map<Long, Product> products = productRepository.findAllByIdCached(uniqueIds)
+                .stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        if (products.size() != uniqueIds.size()) {
+            List<Long> missingIds = uniqueIds.stream()
+                    .filter(id -> !products.containsKey(id))
+                    .toList();
+            throw new EntityNotFoundException("Products not found with ids: " + missingIds);
+        }
+
+        return products;
+    }
+
+    private List<ImportErrorDTO> saveProductChunk(List<BulkImporter.ImportRow<ProductRequestDTO>> rows) {
+        Set<String> existingSkus = productRepository.findExistingSkus(
+                rows.stream().map(row -> row.value().sku()).collect(Collectors.toSet()));
+        Map<Long, Supplier> suppliers = supplierService.findSuppliersByIds(
+                rows.stream().map(row -> row.value().supplierId()).toList());
+
+        List<ImportErrorDTO> errors = new ArrayList<>();
+        List<Product> products = new ArrayList<>(rows.size());
+        Set<String> chunkSkus = new HashSet<>();  // SKU repetido dentro do próprio chunk.
+        for (BulkImporter.ImportRow<ProductRequestDTO> row : rows) {
+            ProductRequestDTO dto = row.value();
+            Supplier supplier = suppliers.get(dto.supplierId());
+            if (existingSkus.contains(dto.sku())) {
+                errors.add(new ImportErrorDTO(row.line(), "Product with SKU " + dto.sku() + " already exists."));
+            } else if (supplier == null) {
+                errors.add(new ImportErrorDTO(row.line(), "Supplier not found with id: " + dto.supplierId()));
+            } else if (!chunkSkus.add(dto.sku())) {
+                errors.add(new ImportErrorDTO(row.line(), "Duplicate SKU " + dto.sku() + " in upload."));
+            } else {
+                Product product = new Product();
+                mapDtoToEntity(dto, product, supplier);
+                products.add(product);
+            }
+        }
+
+        productRepository.saveAll(products);
+        for (Product product : products) {
+            ProductResponseDTO responseDTO = new ProductResponseDTO(product);
+            eventPublisher.publishEvent(ProductChangedEvent.saved(responseDTO));
+            changeOutbox.record(ChangeEvent.EntityType.PRODUCT, product.getId(), ChangeEvent.Operation.CREATED, responseDTO);
+        }
+        return errors;
+    }
+
+    // A resposta traz o fornecedor, então o ETag inclui a versão dele (como ProductRepository#findTagById).
+    private static String tagOf(Product product) {
+        return EntityTags.of(product.getVersion(), product.getSupplier().getVersion());
+    }
+
     private void mapDtoToEntity(ProductRequestDTO dto, Product product, Supplier supplier) {
         product.setName(dto.name());
         product.setDescription(dto.description());
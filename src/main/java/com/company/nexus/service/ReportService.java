@@ -0,0 +1,68 @@
+package com.company.nexus.service;
+
+import com.company.nexus.dto.DailyRevenueDTO;
+import com.company.nexus.dto.RevenueRebuildDTO;
+import com.company.nexus.dto.RevenueReportDTO;
+import com.company.nexus.model.RevenueDimension;
+import com.company.nexus.repository.DailyRevenueRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Relatórios de receita lidos do resumo daily_revenue: o custo de cada consulta depende só do número de dias
+ * pedidos, não da quantidade de pedidos.
+ */
+@Service
+@RequiredArgsConstructor
+@Timed("nexus.service")
+public class ReportService {
+
+    public static final int DEFAULT_DAYS = 30;
+    public static final int MAX_DAYS = 366;
+
+    private final DailyRevenueRepository dailyRevenueRepository;
+    private final RevenueSummaryWriter revenueSummaryWriter;
+
+    /**
+     * @param from Primeiro dia (inclusive); padrão: os últimos {@value #DEFAULT_DAYS} dias até "to".
+     * @param to   Último dia (inclusive); padrão: hoje.
+     */
+    @Transactional(readOnly = true)
+    public RevenueReportDTO getRevenue(RevenueDimension dimension, Long id, LocalDate from, LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_DAYS - 1);
+        if (start.isAfter(end)) {
+            throw new IllegalArgumentException("Report start date " + start + " is after end date " + end + ".");
+        }
+        if (ChronoUnit.DAYS.between(start, end) >= MAX_DAYS) {
+            throw new IllegalArgumentException("Report range must not exceed " + MAX_DAYS + " days.");
+        }
+
+        List<DailyRevenueDTO> days = dailyRevenueRepository.findRange(dimension, id, start, end).stream()
+                .map(DailyRevenueDTO::new)
+                .toList();
+        return new RevenueReportDTO(
+                dimension,
+                id,
+                start,
+                end,
+                days.stream().mapToLong(DailyRevenueDTO::orderCount).sum(),
+                days.stream().mapToLong(DailyRevenueDTO::quantity).sum(),
+                days.stream().map(DailyRevenueDTO::revenue).reduce(BigDecimal.ZERO, BigDecimal::add),
+                days
+        );
+    }
+
+    public RevenueRebuildDTO rebuild() {
+        int rows = revenueSummaryWriter.rebuild();
+        return new RevenueRebuildDTO(rows, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,172 @@
+package com.company.nexus.service;
+
+import com.company.nexus.model.DailyRevenue;
+import com.company.nexus.model.DailyRevenueId;
+import com.company.nexus.model.OrderStatus;
+import com.company.nexus.repository.DailyRevenueRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Mantém a tabela daily_revenue a partir dos {@link OrderRevenueEvent}s.
+ * <p>
+ * Os deltas entram em uma fila depois do commit do pedido e são gravados por uma única thread, em lotes de até
+ * "batch-size": deltas da mesma linha são somados antes, e cada linha recebe um único UPDATE (ou INSERT, se
+ * ainda não existe). Assim a criação de pedidos não disputa o bloqueio das linhas de produtos muito vendidos,
+ * e o resumo fica atrás dos pedidos só pelo tempo de esvaziar a fila.
+ * Deltas perdidos (ex.: a aplicação parou com a fila cheia) são recuperados por {@link #rebuild()}.
+ */
+@Slf4j
+@Component
+@Timed("nexus.service")
+public class RevenueSummaryWriter {
+
+    private final DailyRevenueRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<OrderRevenueEvent.Delta> queue;
+    private final int batchSize;
+    // Serializa a gravação dos lotes e a reconstrução completa.
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private Thread worker;
+    private volatile boolean running;
+
+    public RevenueSummaryWriter(DailyRevenueRepository repository, PlatformTransactionManager transactionManager,
+                                @Value("${nexus.reports.queue-capacity:100000}") int queueCapacity,
+                                @Value("${nexus.reports.batch-size:500}") int batchSize) {
+        this.repository = repository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        worker = Thread.ofPlatform().name("revenue-summary-writer").daemon().start(this::drainQueue);
+    }
+
+    /**
+     * Para de aceitar deltas e dá ao writer um prazo para gravar o que já está na fila.
+     */
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        worker.join(TimeUnit.SECONDS.toMillis(30));
+        if (!queue.isEmpty()) {
+            log.warn("Revenue summary stopped with {} deltas still queued; rebuild the summary to recover them",
+                    queue.size());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onOrderRevenueChanged(OrderRevenueEvent event) {
+        try {
+            for (OrderRevenueEvent.Delta delta : event.deltas()) {
+                // Com a fila cheia, a requisição espera o writer em vez de descartar o delta (back-pressure).
+                queue.put(delta);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            log.warn("Interrupted while queueing revenue deltas; rebuild the summary to recover them");
+        }
+    }
+
+    /**
+     * Soma os deltas ao resumo em uma única transação (ou na transação do chamador, se houver uma).
+     */
+    public void apply(List<OrderRevenueEvent.Delta> deltas) {
+        Map<DailyRevenueId, OrderRevenueEvent.Delta> merged = new LinkedHashMap<>();
+        deltas.forEach(delta -> merged.merge(delta.id(), delta, OrderRevenueEvent.Delta::plus));
+
+        writeLock.lock();
+        try {
+            transactionTemplate.executeWithoutResult(status -> merged.values().forEach(this::applyOne));
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Recalcula o resumo inteiro a partir de orders e order_items (backfill ou correção após deltas perdidos).
+     * Deve rodar com pouco tráfego: um pedido confirmado durante a reconstrução pode ser contado duas vezes.
+     *
+     * @return O número de linhas gravadas.
+     */
+    public int rebuild() {
+        writeLock.lock();
+        try {
+            // Os deltas pendentes são de pedidos já confirmados, que a reconstrução vai ler do banco.
+            queue.clear();
+            Integer rows = transactionTemplate.execute(status -> {
+                repository.deleteAllInBatch();
+                short cancelled = OrderStatus.CANCELLED.code();
+                return repository.insertCustomerTotals(cancelled)
+                        + repository.insertEmployeeTotals(cancelled)
+                        + repository.insertProductTotals(cancelled);
+            });
+            log.info("Revenue summary rebuilt with {} rows", rows);
+            return rows == null ? 0 : rows;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void applyOne(OrderRevenueEvent.Delta delta) {
+        DailyRevenueId id = delta.id();
+        int updated = repository.increment(
+                id.getDimension(), id.getDimensionId(), id.getDate(), delta.orders(), delta.quantity(), delta.revenue()
+        );
+        if (updated == 0) {
+            repository.save(new DailyRevenue(id, delta.orders(), delta.quantity(), delta.revenue()));
+        }
+    }
+
+    private void drainQueue() {
+        while (running || !queue.isEmpty()) {
+            try {
+                OrderRevenueEvent.Delta first = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                List<OrderRevenueEvent.Delta> batch = new ArrayList<>(batchSize);
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);  // Agrupa o que já estiver esperando, sem aguardar mais.
+                applyBatch(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException ex) {
+                log.error("Failed to apply revenue deltas; rebuild the summary to recover them", ex);
+            }
+        }
+    }
+
+    private void applyBatch(List<OrderRevenueEvent.Delta> batch) {
+        try {
+            apply(batch);
+        } catch (DataIntegrityViolationException ex) {
+            // Outra instância inseriu a mesma linha primeiro; o lote foi desfeito e agora cai no UPDATE.
+            log.debug("Revenue summary row inserted concurrently, retrying batch of {}", batch.size(), ex);
+            apply(batch);
+        }
+    }
+}
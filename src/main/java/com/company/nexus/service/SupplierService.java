@@ -1,22 +1,42 @@
 package com.company.nexus.service;
 
+import com.company.nexus.dto.PageResponseDTO;
 import com.company.nexus.dto.SupplierRequestDTO;
 import com.company.nexus.dto.SupplierResponseDTO;
+import com.company.nexus.model.ChangeEvent;
 import com.company.nexus.model.Supplier;
 import com.company.nexus.repository.SupplierRepository;
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
+@Timed("nexus.service")
 public class SupplierService {
 
     private final SupplierRepository supplierRepository;
+    private final DataExporter dataExporter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ChangeOutbox changeOutbox;
+    private final DeltaSync deltaSync;
+    private final ChangeFeedService changeFeedService;
 
     @Transactional
     public SupplierResponseDTO createSupplier(SupplierRequestDTO requestDTO) {
@@ -28,37 +48,72 @@ public class SupplierService {
         mapDtoToEntity(requestDTO, supplier);
         Supplier savedSupplier = supplierRepository.save(supplier);
 
-        return new SupplierResponseDTO(savedSupplier);
+        SupplierResponseDTO responseDTO = new SupplierResponseDTO(savedSupplier);
+        changeOutbox.record(ChangeEvent.EntityType.SUPPLIER, savedSupplier.getId(), ChangeEvent.Operation.CREATED, responseDTO);
+        return responseDTO;
     }
 
     @Transactional(readOnly = true)
-    public List<SupplierResponseDTO> getAllSuppliers() {
-        return supplierRepository.findAll()
-                .stream()
-                .map(SupplierResponseDTO::new)  // Converte cada Supplier em SupplierResponseDTO
-                .collect(Collectors.toList());
+    public PageResponseDTO<SupplierResponseDTO> getAllSuppliers(String cursor, LocalDateTime modifiedSince,
+                                                                Pageable pageable) {
+        if (modifiedSince != null) {
+            return deltaSync.changesSince(ChangeEvent.EntityType.SUPPLIER, modifiedSince, cursor, pageable,
+                    supplierRepository::findChangedAfter, SupplierResponseDTO::new);
+        }
+        Slice<SupplierResponseDTO> suppliers = cursor == null
+                ? supplierRepository.findAllProjectedBy(KeysetCursor.offsetById(pageable))
+                : supplierRepository.findProjectedByIdGreaterThan(KeysetCursor.decodeId(cursor), KeysetCursor.seekById(pageable));
+
+        return KeysetCursor.toPage(suppliers, dto -> KeysetCursor.encode(dto.id()));
+    }
+
+    @Transactional(readOnly = true)
+    public void exportSuppliers(ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<SupplierResponseDTO> suppliers = supplierRepository.streamAllProjectedBy()) {
+            dataExporter.write(suppliers, SupplierResponseDTO.class, format, out);
+        }
     }
 
     @Transactional(readOnly = true)
-    public SupplierResponseDTO getSupplierById(Long id) {
+    public Tagged<SupplierResponseDTO> getSupplierById(Long id) {
         Supplier supplier = findSupplierById(id);
 
-        return new SupplierResponseDTO(supplier);
+        return new Tagged<>(new SupplierResponseDTO(supplier), EntityTags.of(supplier.getVersion()));
+    }
+
+    public String getSupplierTag(Long id) {
+        return supplierRepository.findTagById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Supplier not found with id: " + id));
+    }
+
+    public String getSuppliersTag() {
+        return changeFeedService.collectionTag(EnumSet.of(ChangeEvent.EntityType.SUPPLIER));
     }
 
     @Transactional
-    public SupplierResponseDTO updateSupplier(Long id, SupplierRequestDTO requestDTO) {
+    public SupplierResponseDTO updateSupplier(Long id, SupplierRequestDTO requestDTO, String expectedTag) {
         Supplier existingSupplier = findSupplierById(id);
+        EntityTags.requireMatch(expectedTag, EntityTags.of(existingSupplier.getVersion()));
         mapDtoToEntity(requestDTO, existingSupplier);
         Supplier updatedSupplier = supplierRepository.save(existingSupplier);
 
-        return new SupplierResponseDTO(updatedSupplier);
+        SupplierResponseDTO responseDTO = new SupplierResponseDTO(updatedSupplier);
+        changeOutbox.record(ChangeEvent.EntityType.SUPPLIER, id, ChangeEvent.Operation.UPDATED, responseDTO);
+        return responseDTO;
     }
 
     @Transactional
     public void deleteSupplier(Long id) {
         Supplier supplierToDelete = findSupplierById(id);
         supplierRepository.delete(supplierToDelete);
+        changeOutbox.record(ChangeEvent.EntityType.SUPPLIER, id, ChangeEvent.Operation.DELETED, null);
+        deltaSync.recordDeletion(ChangeEvent.EntityType.SUPPLIER, id);
+        // Os produtos saem junto com o fornecedor (cascade) e também precisam aparecer como excluídos.
+        supplierToDelete.getProducts().forEach(product -> {
+            eventPublisher.publishEvent(ProductChangedEvent.deleted(product.getId()));  // Sai do índice de busca.
+            changeOutbox.record(ChangeEvent.EntityType.PRODUCT, product.getId(), ChangeEvent.Operation.DELETED, null);
+            deltaSync.recordDeletion(ChangeEvent.EntityType.PRODUCT, product.getId());
+        });
     }
 
     public Supplier findSupplierById(Long id) {
@@ -66,6 +121,15 @@ public class SupplierService {
                 .orElseThrow(() -> new EntityNotFoundException("Supplier not found with id: " + id));
     }
 
+    /**
+     * Busca vários fornecedores em uma única consulta. IDs inexistentes simplesmente ficam fora do mapa.
+     */
+    public Map<Long, Supplier> findSuppliersByIds(Collection<Long> ids) {
+        return supplierRepository.findAllById(Set.copyOf(ids))
+                .stream()
+                .collect(Collectors.toMap(Supplier::getId, Function.identity()));
+    }
+
     private void mapDtoToEntity(SupplierRequestDTO dto, Supplier supplier) {
         supplier.setName(dto.name());
         supplier.setContactPerson(dto.contactPerson());
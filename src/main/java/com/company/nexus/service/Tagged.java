@@ -0,0 +1,10 @@
+package com.company.nexus.service;
+
+/**
+ * Uma leitura por ID com o seu ETag (ver {@link EntityTags}), calculado a partir da própria entidade lida.
+ *
+ * @param body A resposta devolvida ao cliente.
+ * @param tag  O ETag, sem aspas.
+ */
+public record Tagged<T>(T body, String tag) {
+}
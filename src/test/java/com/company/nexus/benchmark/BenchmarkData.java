@@ -0,0 +1,125 @@
+package com.company.nexus.benchmark;
+
+import com.company.nexus.NexusApplication;
+import com.company.nexus.model.*;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * Massa de dados e contexto Spring compartilhados pelos benchmarks.
+ */
+final class BenchmarkData {
+
+    private static final int SEED_CHUNK_SIZE = 1000;
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Sobe a aplicação sem servidor web, com um H2 em memória exclusivo do benchmark.
+     */
+    static ConfigurableApplicationContext startApplication(String database) {
+        return new SpringApplicationBuilder(NexusApplication.class)
+                .web(WebApplicationType.NONE)
+                .bannerMode(Banner.Mode.OFF)
+                .logStartupInfo(false)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1",
+                        "spring.h2.console.enabled=false",
+                        "logging.level.root=WARN"
+                )
+                .run();
+    }
+
+    /**
+     * Grava "count" entidades em transações de SEED_CHUNK_SIZE, para não acumular tudo em um único contexto
+     * de persistência.
+     */
+    static <T> List<T> seed(ConfigurableApplicationContext context, JpaRepository<T, Long> repository,
+                            int count, IntFunction<T> factory) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        List<T> saved = new ArrayList<>(count);
+        for (int start = 0; start < count; start += SEED_CHUNK_SIZE) {
+            List<T> chunk = new ArrayList<>(SEED_CHUNK_SIZE);
+            for (int i = start; i < Math.min(count, start + SEED_CHUNK_SIZE); i++) {
+                chunk.add(factory.apply(i));
+            }
+            saved.addAll(transactionTemplate.execute(status -> repository.saveAll(chunk)));
+        }
+        return saved;
+    }
+
+    static Supplier supplier(int i) {
+        return new Supplier(null, "Supplier " + i, "Contact " + i, "supplier" + i + "@bench.test", "555-" + i,
+                new ArrayList<>());
+    }
+
+    static Product product(int i, Supplier supplier) {
+        return new Product(null, "Product " + i, "Description of product " + i,
+                BigDecimal.valueOf(1000 + i % 99_000, 2), sku(i), supplier);
+    }
+
+    static Customer customer(int i) {
+        return new Customer(null, "First" + i, "Last" + i, customerEmail(i), "555-" + i, i + " Main Street");
+    }
+
+    static Employee employee(int i) {
+        return new Employee(null, "Employee", "Number " + i, "Sales", "employee" + i + "@bench.test",
+                LocalDate.of(2020, 1, 1));
+    }
+
+    static String sku(int i) {
+        return "SKU-" + i;
+    }
+
+    static String customerEmail(int i) {
+        return "customer" + i + "@bench.test";
+    }
+
+    /**
+     * Monta em memória (sem banco) um pedido completo com "itemCount" itens, como o OrderService o deixaria.
+     */
+    static Order order(long id, int itemCount) {
+        Supplier supplier = supplier(1);
+        supplier.setId(1L);
+        Customer customer = customer(1);
+        customer.setId(1L);
+        Employee employee = employee(1);
+        employee.setId(1L);
+
+        Order order = new Order();
+        order.setId(id);
+        order.setCustomer(customer);
+        order.setEmployee(employee);
+        order.setOrderDate(LocalDateTime.of(2025, 1, 1, 12, 0));
+        order.setStatus(OrderStatus.PENDING_PAYMENT);
+
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < itemCount; i++) {
+            Product product = product(i, supplier);
+            product.setId((long) i + 1);
+
+            OrderItem item = new OrderItem();
+            item.setId(id * 1000 + i);
+            item.setProduct(product);
+            item.setQuantity(1 + i % 3);
+            item.setUnitPrice(product.getPrice());
+            order.addItem(item);
+            total = total.add(product.getPrice().multiply(BigDecimal.valueOf(item.getQuantity())));
+        }
+        order.setTotalAmount(total);
+        return order;
+    }
+}
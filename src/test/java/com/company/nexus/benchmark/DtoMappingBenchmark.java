@@ -0,0 +1,43 @@
+package com.company.nexus.benchmark;
+
+import com.company.nexus.dto.OrderResponseDTO;
+import com.company.nexus.dto.ProductResponseDTO;
+import com.company.nexus.model.Order;
+import com.company.nexus.model.Product;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapeamento entidade -> record de resposta, isolado do banco (entidades montadas em memória).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class DtoMappingBenchmark {
+
+    @Param({"1", "10", "50"})
+    public int itemCount;
+
+    private Order order;
+    private Product product;
+
+    @Setup
+    public void buildEntities() {
+        order = BenchmarkData.order(1L, itemCount);
+        product = order.getItems().getFirst().getProduct();
+    }
+
+    @Benchmark
+    public OrderResponseDTO orderResponse() {
+        return new OrderResponseDTO(order);
+    }
+
+    @Benchmark
+    public ProductResponseDTO productResponse() {
+        return new ProductResponseDTO(product);
+    }
+}
@@ -0,0 +1,63 @@
+package com.company.nexus.benchmark;
+
+import com.company.nexus.dto.OrderResponseDTO;
+import com.company.nexus.dto.PageResponseDTO;
+import com.company.nexus.dto.ProductResponseDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Serialização Jackson das páginas devolvidas pelos endpoints de listagem (GET /api/v1/products e /orders).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class JsonSerializationBenchmark {
+
+    private static final int ITEMS_PER_ORDER = 5;
+
+    @Param({"20", "100"})  // Tamanho padrão e máximo de página.
+    public int pageSize;
+
+    private ObjectMapper objectMapper;
+    private PageResponseDTO<ProductResponseDTO> productsPage;
+    private PageResponseDTO<OrderResponseDTO> ordersPage;
+
+    @Setup
+    public void buildPages() {
+        // Mesma configuração do ObjectMapper que o Spring Boot registra para os controllers.
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        List<OrderResponseDTO> orders = LongStream.rangeClosed(1, pageSize)
+                .mapToObj(id -> new OrderResponseDTO(BenchmarkData.order(id, ITEMS_PER_ORDER)))
+                .toList();
+        List<ProductResponseDTO> products = BenchmarkData.order(1L, pageSize).getItems().stream()
+                .map(item -> new ProductResponseDTO(item.getProduct()))
+                .toList();
+
+        ordersPage = new PageResponseDTO<>(orders, pageSize, "bmV4dA");
+        productsPage = new PageResponseDTO<>(products, pageSize, "bmV4dA");
+    }
+
+    @Benchmark
+    public byte[] productsPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(productsPage);
+    }
+
+    @Benchmark
+    public byte[] ordersPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(ordersPage);
+    }
+}
@@ -0,0 +1,90 @@
+package com.company.nexus.benchmark;
+
+import com.company.nexus.dto.OrderItemRequestDTO;
+import com.company.nexus.dto.OrderRequestDTO;
+import com.company.nexus.dto.OrderResponseDTO;
+import com.company.nexus.model.Customer;
+import com.company.nexus.model.Product;
+import com.company.nexus.model.Supplier;
+import com.company.nexus.repository.*;
+import com.company.nexus.service.OrderService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OrderService.createOrder de ponta a ponta (validação, busca de produtos, precificação e INSERTs em lote)
+ * contra o H2 embarcado, variando a quantidade de itens do pedido.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class OrderServiceBenchmark {
+
+    private static final int PRODUCTS = 1_000;
+    private static final int CUSTOMERS = 1_000;
+
+    @Param({"1", "10", "50"})
+    public int itemCount;
+
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+    private OrderRepository orderRepository;
+    private OrderItemRepository orderItemRepository;
+    private List<Long> productIds;
+    private List<Long> customerIds;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = BenchmarkData.startApplication("order_service_benchmark");
+        orderService = context.getBean(OrderService.class);
+        orderRepository = context.getBean(OrderRepository.class);
+        orderItemRepository = context.getBean(OrderItemRepository.class);
+
+        List<Supplier> suppliers = BenchmarkData.seed(context, context.getBean(SupplierRepository.class),
+                10, BenchmarkData::supplier);
+        productIds = BenchmarkData.seed(context, context.getBean(ProductRepository.class),
+                PRODUCTS, i -> BenchmarkData.product(i, suppliers.get(i % suppliers.size())))
+                .stream().map(Product::getId).toList();
+        customerIds = BenchmarkData.seed(context, context.getBean(CustomerRepository.class),
+                CUSTOMERS, BenchmarkData::customer)
+                .stream().map(Customer::getId).toList();
+    }
+
+    /**
+     * Remove os pedidos criados na iteração, para que o volume de dados não cresça de uma iteração para outra.
+     */
+    @TearDown(Level.Iteration)
+    public void deleteOrders() {
+        orderItemRepository.deleteAllInBatch();
+        orderRepository.deleteAllInBatch();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public OrderResponseDTO createOrder() {
+        return orderService.createOrder(randomOrder());
+    }
+
+    private OrderRequestDTO randomOrder() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int firstProduct = random.nextInt(PRODUCTS - itemCount);
+
+        List<OrderItemRequestDTO> items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            items.add(new OrderItemRequestDTO(productIds.get(firstProduct + i), 1 + random.nextInt(3)));
+        }
+        return new OrderRequestDTO(customerIds.get(random.nextInt(CUSTOMERS)), null, items);
+    }
+}
@@ -0,0 +1,97 @@
+package com.company.nexus.benchmark;
+
+import com.company.nexus.model.Product;
+import com.company.nexus.model.Supplier;
+import com.company.nexus.repository.ProductRepository;
+import com.company.nexus.repository.SupplierRepository;
+import com.company.nexus.service.ProductSearchIndex;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consultas ao ProductSearchIndex (só o índice, sem a leitura dos produtos no banco).
+ * Os nomes combinam um vocabulário pequeno, então cada termo casa com milhares de produtos: é o pior caso
+ * para o ranking. A meta é ficar abaixo de 10 ms por consulta com 1 milhão de produtos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ProductSearchBenchmark {
+
+    private static final String[] NOUNS = {
+            "Teclado", "Mouse", "Monitor", "Headset", "Webcam", "Notebook", "Cadeira", "Mesa", "Impressora", "Roteador",
+            "Cabo", "Carregador", "Fonte", "Gabinete", "Placa", "Memória", "Processador", "Cooler", "Microfone", "Caixa"
+    };
+    private static final String[] ADJECTIVES = {
+            "Mecânico", "Sem Fio", "Gamer", "Ergonômico", "Compacto", "Profissional", "Portátil", "Silencioso",
+            "Ultrawide", "Bluetooth", "Básico", "Premium", "Curvo", "Modular", "Slim", "Turbo"
+    };
+
+    @Param({"100000", "1000000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private ProductSearchIndex productSearchIndex;
+    private int suppliers;
+    private List<Long> supplierIds;
+
+    @Setup(Level.Trial)
+    public void loadData() {
+        context = BenchmarkData.startApplication("product_search_benchmark_" + rows);
+        productSearchIndex = context.getBean(ProductSearchIndex.class);
+
+        suppliers = Math.max(1, rows / 1000);
+        List<Supplier> savedSuppliers = BenchmarkData.seed(context, context.getBean(SupplierRepository.class),
+                suppliers, BenchmarkData::supplier);
+        supplierIds = savedSuppliers.stream().map(Supplier::getId).toList();
+        BenchmarkData.seed(context, context.getBean(ProductRepository.class), rows,
+                i -> product(i, savedSuppliers.get(i % suppliers)));
+        productSearchIndex.rebuild();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Long> exactTerms() {
+        return productSearchIndex.search("teclado mecanico", null, false, false, 20);
+    }
+
+    @Benchmark
+    public List<Long> prefix() {
+        return productSearchIndex.search("tecl mec", null, true, false, 20);
+    }
+
+    @Benchmark
+    public List<Long> fuzzy() {
+        return productSearchIndex.search("tecaldo mecnaico", null, true, true, 20);
+    }
+
+    @Benchmark
+    public List<Long> sku() {
+        return productSearchIndex.search(BenchmarkData.sku(ThreadLocalRandom.current().nextInt(rows)), null, true, false, 20);
+    }
+
+    @Benchmark
+    public List<Long> supplierFilter() {
+        Long supplierId = supplierIds.get(ThreadLocalRandom.current().nextInt(suppliers));
+        return productSearchIndex.search("mouse", supplierId, true, false, 20);
+    }
+
+    private static Product product(int i, Supplier supplier) {
+        String noun = NOUNS[i % NOUNS.length];
+        String adjective = ADJECTIVES[(i / NOUNS.length) % ADJECTIVES.length];
+        return new Product(null, noun + " " + adjective + " " + i, "Descrição do produto " + noun.toLowerCase() + " " + i,
+                BigDecimal.valueOf(1000 + i % 99_000, 2), BenchmarkData.sku(i), supplier);
+    }
+}
@@ -0,0 +1,82 @@
+package com.company.nexus.benchmark;
+
+import com.company.nexus.model.Customer;
+import com.company.nexus.model.Product;
+import com.company.nexus.model.Supplier;
+import com.company.nexus.repository.CustomerRepository;
+import com.company.nexus.repository.ProductRepository;
+import com.company.nexus.repository.SupplierRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Buscas findBy* dos repositórios contra o H2 embarcado carregado com volumes realistas.
+ * Cada chamada é uma transação própria, como acontece quando o repositório é usado fora de um serviço.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class RepositoryLookupBenchmark {
+
+    @Param({"10000", "100000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private ProductRepository productRepository;
+    private CustomerRepository customerRepository;
+    private SupplierRepository supplierRepository;
+    private List<Long> productIds;
+    private int suppliers;
+
+    @Setup(Level.Trial)
+    public void loadData() {
+        context = BenchmarkData.startApplication("repository_lookup_benchmark_" + rows);
+        productRepository = context.getBean(ProductRepository.class);
+        customerRepository = context.getBean(CustomerRepository.class);
+        supplierRepository = context.getBean(SupplierRepository.class);
+
+        suppliers = Math.max(1, rows / 100);
+        List<Supplier> savedSuppliers = BenchmarkData.seed(context, supplierRepository, suppliers, BenchmarkData::supplier);
+        productIds = BenchmarkData.seed(context, productRepository, rows,
+                        i -> BenchmarkData.product(i, savedSuppliers.get(i % suppliers)))
+                .stream().map(Product::getId).toList();
+        BenchmarkData.seed(context, customerRepository, rows, BenchmarkData::customer);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<Product> findProductBySku() {
+        return productRepository.findBySku(BenchmarkData.sku(randomRow()));  // Cache de consultas.
+    }
+
+    @Benchmark
+    public Optional<Product> findProductById() {
+        return productRepository.findById(productIds.get(randomRow()));  // Cache de segundo nível.
+    }
+
+    @Benchmark
+    public Optional<Customer> findCustomerByEmail() {
+        return customerRepository.findByEmail(BenchmarkData.customerEmail(randomRow()));
+    }
+
+    @Benchmark
+    public Optional<Supplier> findSupplierByEmail() {
+        return supplierRepository.findByEmail("supplier" + ThreadLocalRandom.current().nextInt(suppliers) + "@bench.test");
+    }
+
+    private int randomRow() {
+        return ThreadLocalRandom.current().nextInt(rows);
+    }
+}
@@ -0,0 +1,111 @@
+package com.company.nexus.benchmark;
+
+import com.company.nexus.dto.OrderResponseDTO;
+import com.company.nexus.dto.PageResponseDTO;
+import com.company.nexus.dto.ProductResponseDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Custo de CPU e tamanho das páginas de produtos e pedidos em cada formato negociável (JSON, Smile e CBOR),
+ * com e sem gzip, como o Tomcat as comprime (server.compression).
+ * O tamanho de cada resposta, em bytes, sai no relatório do JMH como o contador secundário "bytes".
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class WireFormatBenchmark {
+
+    private static final int ITEMS_PER_ORDER = 5;
+
+    @Param({"json", "smile", "cbor"})
+    public String format;
+
+    @Param({"20", "100"})  // Tamanho padrão e máximo de página.
+    public int pageSize;
+
+    private ObjectMapper objectMapper;
+    private PageResponseDTO<ProductResponseDTO> productsPage;
+    private PageResponseDTO<OrderResponseDTO> ordersPage;
+
+    @Setup
+    public void buildPages() throws IOException {
+        // Mesma configuração dos conversores registrados para os controllers (BinaryFormatConfiguration).
+        Jackson2ObjectMapperBuilder builder = switch (format) {
+            case "json" -> Jackson2ObjectMapperBuilder.json();
+            case "smile" -> Jackson2ObjectMapperBuilder.json().factory(SmileFactory.builder()
+                    .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                    .build());
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor();
+            default -> throw new IllegalArgumentException("Unknown format: " + format);
+        };
+        objectMapper = builder.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+
+        List<OrderResponseDTO> orders = LongStream.rangeClosed(1, pageSize)
+                .mapToObj(id -> new OrderResponseDTO(BenchmarkData.order(id, ITEMS_PER_ORDER)))
+                .toList();
+        List<ProductResponseDTO> products = BenchmarkData.order(1L, pageSize).getItems().stream()
+                .map(item -> new ProductResponseDTO(item.getProduct()))
+                .toList();
+
+        ordersPage = new PageResponseDTO<>(orders, pageSize, "bmV4dA");
+        productsPage = new PageResponseDTO<>(products, pageSize, "bmV4dA");
+    }
+
+    @Benchmark
+    public byte[] productsPage(ResponseSize size) throws IOException {
+        return size.record(objectMapper.writeValueAsBytes(productsPage));
+    }
+
+    @Benchmark
+    public byte[] ordersPage(ResponseSize size) throws IOException {
+        return size.record(objectMapper.writeValueAsBytes(ordersPage));
+    }
+
+    @Benchmark
+    public byte[] productsPageGzip(ResponseSize size) throws IOException {
+        return size.record(gzip(objectMapper.writeValueAsBytes(productsPage)));
+    }
+
+    @Benchmark
+    public byte[] ordersPageGzip(ResponseSize size) throws IOException {
+        return size.record(gzip(objectMapper.writeValueAsBytes(ordersPage)));
+    }
+
+    /**
+     * Contador secundário do JMH. Guarda o tamanho da última resposta (não soma): toda chamada gera os mesmos bytes.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class ResponseSize {
+
+        public long bytes;
+
+        byte[] record(byte[] body) {
+            bytes = body.length;
+            return body;
+        }
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(body);
+        }
+        return compressed.toByteArray();
+    }
+}
@@ -0,0 +1,160 @@
+package com.company.nexus.controller;
+
+import com.company.nexus.dto.CustomerRequestDTO;
+import com.company.nexus.dto.SupplierRequestDTO;
+import com.company.nexus.model.Product;
+import com.company.nexus.model.Supplier;
+import com.company.nexus.repository.ChangeEventRepository;
+import com.company.nexus.repository.ProductRepository;
+import com.company.nexus.repository.SupplierRepository;
+import com.company.nexus.service.ChangeRelay;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.nullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * O relay agendado só enxerga registros confirmados; como os testes são @Transactional, a publicação é feita
+ * chamando {@link ChangeRelay#publishBatch()} dentro da transação do teste.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class ChangeControllerTest {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private ChangeRelay changeRelay;
+    @Autowired private ChangeEventRepository changeEventRepository;
+    @Autowired private SupplierRepository supplierRepository;
+    @Autowired private ProductRepository productRepository;
+
+    private long since;
+
+    @BeforeEach
+    void setUp() {
+        changeRelay.publishBatch();  // Pendências de outros testes ficam antes do "since".
+        since = changeEventRepository.findLastSequence();
+    }
+
+    @Test
+    @DisplayName("Deve publicar no feed a criação, a alteração e a exclusão de um fornecedor, em ordem")
+    void getChanges_shouldReturnMutationsInCommitOrder() throws Exception {
+        String created = mockMvc.perform(post("/api/v1/suppliers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new SupplierRequestDTO("Kelly Bakery", "Kelly", "kelly.changes@bakery.com", "444"))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        Number supplierId = JsonPath.read(created, "$.id");
+        mockMvc.perform(put("/api/v1/suppliers/{id}", supplierId.longValue())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new SupplierRequestDTO("Kelly's Bakery", "Kelly", "kelly.changes@bakery.com", "444"))))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/v1/suppliers/{id}", supplierId.longValue()))
+                .andExpect(status().isNoContent());
+
+        assertThat(changeRelay.publishBatch()).isEqualTo(3);
+
+        MvcResult result = mockMvc.perform(get("/api/v1/changes")
+                        .param("since", String.valueOf(since))
+                        .param("type", "SUPPLIER")
+                        .param("wait", "0"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes.length()").value(3))
+                .andExpect(jsonPath("$.changes[0].sequence").value(since + 1))
+                .andExpect(jsonPath("$.changes[0].entityId").value(supplierId.longValue()))
+                .andExpect(jsonPath("$.changes[0].operation").value("CREATED"))
+                .andExpect(jsonPath("$.changes[0].payload.email").value("kelly.changes@bakery.com"))
+                .andExpect(jsonPath("$.changes[1].operation").value("UPDATED"))
+                .andExpect(jsonPath("$.changes[1].payload.name").value("Kelly's Bakery"))
+                .andExpect(jsonPath("$.changes[2].operation").value("DELETED"))
+                .andExpect(jsonPath("$.changes[2].payload").value(nullValue()))
+                .andExpect(jsonPath("$.next").value(since + 3));
+    }
+
+    @Test
+    @DisplayName("Deve publicar no feed a exclusão dos produtos removidos junto com o fornecedor")
+    void getChanges_afterSupplierDelete_shouldIncludeCascadedProducts() throws Exception {
+        Supplier supplier = supplierRepository.save(new Supplier(
+                null, "Kelly Bakery", "Kelly", "kelly.cascade@bakery.com", "444", new ArrayList<>()));
+        Product product = productRepository.save(new Product(
+                null, "Cheesecake", "Sobremesa", new BigDecimal("25.00"), "CAKE-CHANGES", supplier));
+        supplier.getProducts().add(product);
+
+        mockMvc.perform(delete("/api/v1/suppliers/{id}", supplier.getId()))
+                .andExpect(status().isNoContent());
+        changeRelay.publishBatch();
+
+        MvcResult result = mockMvc.perform(get("/api/v1/changes")
+                        .param("since", String.valueOf(since))
+                        .param("type", "PRODUCT")
+                        .param("wait", "0"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes.length()").value(1))
+                .andExpect(jsonPath("$.changes[0].entityId").value(product.getId()))
+                .andExpect(jsonPath("$.changes[0].operation").value("DELETED"));
+    }
+
+    @Test
+    @DisplayName("Deve manter a requisição em espera até o relay publicar uma nova alteração (long-poll)")
+    void getChanges_withoutNewChanges_shouldWaitForNextPublication() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/v1/changes")
+                        .param("since", String.valueOf(since))
+                        .param("wait", "30"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertThat(result.getResponse().getContentAsString()).isEmpty();  // Ainda sem resposta.
+
+        mockMvc.perform(post("/api/v1/customers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CustomerRequestDTO(
+                                "Arthur", "Spooner", "arthur.changes@example.com", "333", "Queens, NY"))))
+                .andExpect(status().isCreated());
+        changeRelay.publishBatch();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes.length()").value(1))
+                .andExpect(jsonPath("$.changes[0].entityType").value("CUSTOMER"))
+                .andExpect(jsonPath("$.changes[0].payload.email").value("arthur.changes@example.com"));
+    }
+
+    @Test
+    @DisplayName("Deve retornar status 400 para um limite fora do intervalo permitido")
+    void getChanges_withInvalidLimit_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/v1/changes").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+}
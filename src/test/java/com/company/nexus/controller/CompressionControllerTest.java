@@ -0,0 +1,110 @@
+package com.company.nexus.controller;
+
+import com.company.nexus.model.Product;
+import com.company.nexus.model.Supplier;
+import com.company.nexus.repository.ProductRepository;
+import com.company.nexus.repository.SupplierRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * O gzip é aplicado pelo Tomcat (server.compression), por fora do DispatcherServlet, e o MockMvc não o enxerga:
+ * estes testes sobem o servidor em uma porta aleatória. Como em OrderConcurrencyControllerTest, não há
+ * @Transactional (as requisições rodam nas threads do Tomcat); os dados são removidos ao final de cada teste.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class CompressionControllerTest {
+
+    private static final int PRODUCTS = 20;  // Uma página padrão, bem acima de min-response-size.
+
+    @LocalServerPort private int port;
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private SupplierRepository supplierRepository;
+    @Autowired private ProductRepository productRepository;
+
+    // Não descomprime: os bytes chegam como o Tomcat os enviou.
+    private final HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private Supplier supplier;
+    private final List<Product> products = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString();
+        supplier = supplierRepository.save(new Supplier(
+                null, "Kelly Bakery", "Kelly", "kelly-" + suffix + "@bakery.com", "444", new ArrayList<>()
+        ));
+        for (int i = 0; i < PRODUCTS; i++) {
+            products.add(productRepository.save(new Product(
+                    null, "Cheesecake " + i, "Sobremesa com calda de frutas vermelhas", new BigDecimal("25.00"),
+                    "CAKE-" + i + "-" + suffix, supplier
+            )));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAll(products);
+        supplierRepository.deleteById(supplier.getId());
+    }
+
+    @Test
+    @DisplayName("Deve comprimir com gzip a listagem com ETag fraco e responder 304 ao mesmo ETag")
+    void getAllProducts_withAcceptEncodingGzip_shouldCompressTaggedResponse() throws Exception {
+        HttpResponse<byte[]> response = send(HttpRequest.newBuilder(uri("/api/v1/products"))
+                .header("Accept-Encoding", "gzip"));
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue("Content-Encoding")).contains("gzip");
+        String etag = response.headers().firstValue("ETag").orElseThrow();
+        assertThat(etag).startsWith("W/\"");
+        try (GZIPInputStream body = new GZIPInputStream(new ByteArrayInputStream(response.body()))) {
+            JsonNode page = objectMapper.readTree(body);
+            assertThat(page.get("content").size()).isEqualTo(PRODUCTS);
+        }
+
+        HttpResponse<byte[]> notModified = send(HttpRequest.newBuilder(uri("/api/v1/products"))
+                .header("Accept-Encoding", "gzip")
+                .header("If-None-Match", etag));
+
+        assertThat(notModified.statusCode()).isEqualTo(304);
+        assertThat(notModified.body()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve responder sem compressão quando o cliente não envia Accept-Encoding")
+    void getAllProducts_withoutAcceptEncoding_shouldNotCompress() throws Exception {
+        HttpResponse<byte[]> response = send(HttpRequest.newBuilder(uri("/api/v1/products")));
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue("Content-Encoding")).isEmpty();
+        assertThat(objectMapper.readTree(response.body()).get("content").size()).isEqualTo(PRODUCTS);
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private HttpResponse<byte[]> send(HttpRequest.Builder request) throws Exception {
+        return httpClient.send(request.GET().build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+}
@@ -3,7 +3,9 @@ package com.company.nexus.controller;
 import com.company.nexus.dto.CustomerRequestDTO;
 import com.company.nexus.model.Customer;
 import com.company.nexus.repository.CustomerRepository;
+import com.company.nexus.service.ChangeRelay;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.JsonPath;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,12 +13,18 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
+import static com.company.nexus.controller.SqlStatementMatchers.statementCount;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @SpringBootTest
 @AutoConfigureMockMvc
@@ -32,6 +40,9 @@ class CustomerControllerTest {
     @Autowired
     private CustomerRepository customerRepository; // Injetado para preparar os dados de teste.
 
+    @Autowired
+    private ChangeRelay changeRelay;
+
     @Test
     @DisplayName("Deve criar um cliente com sucesso e retornar status 201")
     void createCustomer_withValidData_shouldReturnCreated() throws Exception {
@@ -95,6 +106,140 @@ class CustomerControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    @DisplayName("Deve paginar a listagem de clientes por offset e continuar pelo cursor")
+    void getAllCustomers_withPageSize_shouldReturnPagesLinkedByCursor() throws Exception {
+        // Arrange
+        for (int i = 1; i <= 3; i++) {
+            customerRepository.save(new Customer(
+                    null,
+                    "Customer",
+                    "Number " + i,
+                    "customer" + i + "@example.com",
+                    null,
+                    null
+            ));
+        }
+
+        // Act & Assert: primeira página por offset
+        String firstPage = mockMvc.perform(get("/api/v1/customers").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2))
+                .andExpect(jsonPath("$.content[0].lastName").value("Number 1"))
+                .andExpect(jsonPath("$.size").value(2))
+                .andReturn().getResponse().getContentAsString();
+        String next = JsonPath.read(firstPage, "$.next");
+
+        // Act & Assert: próxima página pelo cursor (keyset)
+        mockMvc.perform(get("/api/v1/customers").param("size", "2").param("cursor", next))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].lastName").value("Number 3"))
+                .andExpect(jsonPath("$.next").value(nullValue()));
+    }
+
+    @Test
+    @DisplayName("Deve retornar status 400 quando o cursor de paginação for inválido")
+    void getAllCustomers_withInvalidCursor_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/v1/customers").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Deve listar clientes com uma consulta, além da consulta do ETag")
+    void getAllCustomers_shouldExecuteListAndTagStatements() throws Exception {
+        customerRepository.saveAllAndFlush(List.of(
+                new Customer(null, "Carrie", "Heffernan", "carrie@sitcom.com", null, null),
+                new Customer(null, "Doug", "Heffernan", "doug@sitcom.com", null, null)
+        ));
+
+        mockMvc.perform(get("/api/v1/customers"))
+                .andExpect(status().isOk())
+                .andExpect(statementCount(2));
+    }
+
+    @Test
+    @DisplayName("Deve responder 304 ao If-None-Match atual e 412 ao If-Match desatualizado")
+    void getCustomerById_withEntityTags_shouldHonorConditionalHeaders() throws Exception {
+        Customer customer = customerRepository.saveAndFlush(
+                new Customer(null, "Deacon", "Palmer", "deacon@sitcom.com", null, null));
+        String etag = "W/\"" + customer.getVersion() + "\"";
+
+        mockMvc.perform(get("/api/v1/customers/{id}", customer.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", etag));
+
+        // O 304 sai só com a consulta do ETag, sem passar pelo Jackson.
+        mockMvc.perform(get("/api/v1/customers/{id}", customer.getId()).header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""))
+                .andExpect(statementCount(1));
+
+        var requestDTO = new CustomerRequestDTO("Deacon", "Palmer", "deacon@sitcom.com", "555", null);
+        mockMvc.perform(put("/api/v1/customers/{id}", customer.getId())
+                        .header("If-Match", "\"" + (customer.getVersion() + 1) + "\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDTO)))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(put("/api/v1/customers/{id}", customer.getId())
+                        .header("If-Match", etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDTO)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.phone").value("555"));
+    }
+
+    @Test
+    @DisplayName("Deve marcar a listagem de clientes com a posição do feed de alterações")
+    void getAllCustomers_withIfNoneMatch_shouldReturnNotModifiedUntilAChangeIsPublished() throws Exception {
+        Customer customer = customerRepository.saveAndFlush(
+                new Customer(null, "Holly", "Shumpert", "holly@sitcom.com", null, null));
+        changeRelay.publishBatch();
+
+        String etag = mockMvc.perform(get("/api/v1/customers"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        mockMvc.perform(get("/api/v1/customers").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        var requestDTO = new CustomerRequestDTO("Holly", "Shumpert", "holly@sitcom.com", "777", null);
+        mockMvc.perform(put("/api/v1/customers/{id}", customer.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDTO)))
+                .andExpect(status().isOk());
+
+        // Enquanto a alteração não é publicada, a listagem sai sem ETag.
+        mockMvc.perform(get("/api/v1/customers").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("ETag"));
+
+        changeRelay.publishBatch();
+        String changedEtag = mockMvc.perform(get("/api/v1/customers").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        assertNotEquals(etag, changedEtag);
+    }
+
+    @Test
+    @DisplayName("Deve exportar os clientes em NDJSON de forma assíncrona (streaming)")
+    void exportCustomers_withDefaultFormat_shouldStreamNdjson() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/v1/customers/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"customers.ndjson\""));
+    }
+
+    @Test
+    @DisplayName("Deve retornar status 400 para um formato de exportação desconhecido")
+    void exportCustomers_withUnknownFormat_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/v1/customers/export").param("format", "xlsx"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @DisplayName("Deve atualizar um cliente com sucesso e retornar status 200")
     void updateCustomer_withValidData_shouldReturnOk() throws Exception {
@@ -136,4 +281,24 @@ class CustomerControllerTest {
         mockMvc.perform(delete("/api/v1/customers/{id}", customerToDelete.getId()))
                 .andExpect(status().isNoContent());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Deve importar clientes a partir de um CSV com campos entre aspas")
+    void importCustomers_withCsv_shouldImportValidRows() throws Exception {
+        String csv = """
+                firstName,lastName,email,phone,address
+                Carrie,Heffernan,carrie@sitcom.com,500742399,"456 Oak Avenue, Queens"
+                Doug,Heffernan,not-an-email,,
+                """;
+
+        mockMvc.perform(post("/api/v1/customers/import")
+                        .contentType("text/csv")
+                        .content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.processed").value(2))
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(3));
+
+        assertEquals("456 Oak Avenue, Queens", customerRepository.findByEmail("carrie@sitcom.com").orElseThrow().getAddress());
+    }
+}
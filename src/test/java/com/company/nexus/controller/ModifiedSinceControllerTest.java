@@ -0,0 +1,138 @@
+package com.company.nexus.controller;
+
+import com.company.nexus.dto.CustomerRequestDTO;
+import com.company.nexus.model.Customer;
+import com.company.nexus.model.Product;
+import com.company.nexus.model.Supplier;
+import com.company.nexus.repository.CustomerRepository;
+import com.company.nexus.repository.ProductRepository;
+import com.company.nexus.repository.SupplierRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Listagens incrementais (?modifiedSince=). "settle-time" é zerado para que os registros criados no próprio teste,
+ * ainda não confirmados, já apareçam na leitura.
+ */
+@SpringBootTest(properties = "nexus.sync.settle-time=0s")
+@AutoConfigureMockMvc
+@Transactional
+class ModifiedSinceControllerTest {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private CustomerRepository customerRepository;
+    @Autowired private SupplierRepository supplierRepository;
+    @Autowired private ProductRepository productRepository;
+
+    private LocalDateTime since;
+
+    @BeforeEach
+    void setUp() {
+        since = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
+    @Test
+    @DisplayName("Deve percorrer por cursor as alterações e exclusões de clientes em ordem de alteração")
+    void getAllCustomers_modifiedSince_shouldReturnChangesAndDeletionsInOrder() throws Exception {
+        Customer first = customerRepository.saveAndFlush(new Customer(null, "Doug", "Heffernan", "doug.sync@ups.com", "111", "Queens, NY"));
+        Customer second = customerRepository.saveAndFlush(new Customer(null, "Carrie", "Heffernan", "carrie.sync@law.com", "222", "Queens, NY"));
+        Customer removed = customerRepository.saveAndFlush(new Customer(null, "Deacon", "Palmer", "deacon.sync@ups.com", "333", "Queens, NY"));
+
+        mockMvc.perform(put("/api/v1/customers/{id}", first.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CustomerRequestDTO(
+                                "Douglas", "Heffernan", "doug.sync@ups.com", "111", "Queens, NY"))))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/v1/customers/{id}", removed.getId()))
+                .andExpect(status().isNoContent());
+
+        List<Long> changed = new ArrayList<>();
+        List<Long> deleted = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        while (true) {
+            var request = get("/api/v1/customers")
+                    .param("modifiedSince", since.toString())
+                    .param("size", "1");
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            String body = mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.next").exists())
+                    .andReturn().getResponse().getContentAsString();
+            List<Number> content = JsonPath.read(body, "$.content[*].id");
+            List<Number> deletedIds = JsonPath.read(body, "$.deleted");
+            if (content.isEmpty() && deletedIds.isEmpty()) {
+                break;
+            }
+            content.forEach(id -> changed.add(id.longValue()));
+            deletedIds.forEach(id -> deleted.add(id.longValue()));
+            cursor = JsonPath.read(body, "$.next");
+            pages++;
+        }
+
+        // O cliente alterado por último vem depois do que não mudou; o excluído só aparece em "deleted".
+        assertThat(changed).containsExactly(second.getId(), first.getId());
+        assertThat(deleted).containsExactly(removed.getId());
+        assertThat(pages).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Deve listar como excluídos os produtos removidos junto com o fornecedor")
+    void getAllProducts_modifiedSince_shouldIncludeProductsDeletedWithSupplier() throws Exception {
+        Supplier supplier = supplierRepository.save(new Supplier(
+                null, "Kelly Bakery", "Kelly", "kelly.sync@bakery.com", "444", new ArrayList<>()));
+        Product product = productRepository.save(new Product(
+                null, "Cheesecake", "Sobremesa", new BigDecimal("25.00"), "CAKE-SYNC", supplier));
+        supplier.getProducts().add(product);
+
+        mockMvc.perform(delete("/api/v1/suppliers/{id}", supplier.getId()))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/v1/products").param("modifiedSince", since.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", empty()))
+                .andExpect(jsonPath("$.deleted", contains(product.getId().intValue())));
+        mockMvc.perform(get("/api/v1/suppliers").param("modifiedSince", since.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted", contains(supplier.getId().intValue())));
+    }
+
+    @Test
+    @DisplayName("Deve retornar 410 quando modifiedSince for anterior às exclusões mantidas")
+    void getAllEmployees_modifiedSinceBeforeRetention_shouldReturnGone() throws Exception {
+        mockMvc.perform(get("/api/v1/employees").param("modifiedSince", "2000-01-01T00:00:00"))
+                .andExpect(status().isGone());
+
+        // Sem modifiedSince, a listagem continua como antes, sem "deleted".
+        mockMvc.perform(get("/api/v1/employees"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted").doesNotExist());
+    }
+}
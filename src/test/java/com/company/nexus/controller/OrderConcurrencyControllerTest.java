@@ -0,0 +1,203 @@
+package com.company.nexus.controller;
+
+import com.company.nexus.dto.OrderItemRequestDTO;
+import com.company.nexus.dto.OrderRequestDTO;
+import com.company.nexus.dto.ProductRequestDTO;
+import com.company.nexus.model.Customer;
+import com.company.nexus.model.Order;
+import com.company.nexus.model.OrderStatus;
+import com.company.nexus.model.Product;
+import com.company.nexus.model.Supplier;
+import com.company.nexus.repository.CustomerRepository;
+import com.company.nexus.repository.IdempotencyRecordRepository;
+import com.company.nexus.repository.OrderRepository;
+import com.company.nexus.repository.ProductRepository;
+import com.company.nexus.repository.SupplierRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+/**
+ * Requisições concorrentes sobre o mesmo registro. Ao contrário das demais classes de teste, não é @Transactional:
+ * cada requisição precisa confirmar a própria transação para disputar a linha com as outras.
+ * Os dados são criados com identificadores únicos e removidos ao final de cada teste.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class OrderConcurrencyControllerTest {
+
+    private static final int THREADS = 16;
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private CustomerRepository customerRepository;
+    @Autowired private SupplierRepository supplierRepository;
+    @Autowired private ProductRepository productRepository;
+    @Autowired private OrderRepository orderRepository;
+    @Autowired private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    private Customer customer;
+    private Supplier supplier;
+    private Product product;
+    private Order order;
+    private final List<Long> createdOrderIds = new ArrayList<>();
+    private final List<String> idempotencyKeys = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString();
+        customer = customerRepository.save(new Customer(
+                null, "Arthur", "Spooner", "arthur-" + suffix + "@example.com", "333", "Queens, NY"
+        ));
+        supplier = supplierRepository.save(new Supplier(
+                null, "Kelly Bakery", "Kelly", "kelly-" + suffix + "@bakery.com", "444", new ArrayList<>()
+        ));
+        product = productRepository.save(new Product(
+                null, "Cheesecake", "Sobremesa", new BigDecimal("25.00"), "CAKE-" + suffix, supplier
+        ));
+
+        Order pending = new Order();
+        pending.setCustomer(customer);
+        pending.setOrderDate(LocalDateTime.now());
+        pending.setStatus(OrderStatus.PENDING_PAYMENT);
+        pending.setTotalAmount(BigDecimal.ZERO);
+        order = orderRepository.save(pending);
+    }
+
+    @AfterEach
+    void tearDown() {
+        idempotencyRecordRepository.deleteAllById(idempotencyKeys);
+        orderRepository.deleteAllById(createdOrderIds);
+        orderRepository.deleteById(order.getId());
+        productRepository.deleteById(product.getId());
+        supplierRepository.deleteById(supplier.getId());
+        customerRepository.deleteById(customer.getId());
+    }
+
+    @Test
+    @DisplayName("Deve aplicar exatamente um cancelamento quando vários chegam ao mesmo tempo")
+    void cancelOrder_concurrently_shouldApplyExactlyOneTransition() throws Exception {
+        List<Integer> statuses = performConcurrently(i -> post("/api/v1/orders/{id}/cancel", order.getId()));
+
+        assertThat(statuses).filteredOn(status -> status == 200).hasSize(1);
+        assertThat(statuses).filteredOn(status -> status == 409).hasSize(THREADS - 1);
+
+        Order cancelled = orderRepository.findById(order.getId()).orElseThrow();
+        assertThat(cancelled.getStatus()).isEqualTo(OrderStatus.CANCELLED);
+        assertThat(cancelled.getVersion()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Deve recusar com 409, sem sobrescrever, atualizações concorrentes do mesmo produto")
+    void updateProduct_concurrently_shouldNeverLoseAnUpdate() throws Exception {
+        List<Integer> statuses = performConcurrently(i -> put("/api/v1/products/{id}", product.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(new ProductRequestDTO(
+                        "Cheesecake " + i, "Sobremesa", new BigDecimal("25.00"), product.getSku(), supplier.getId()
+                ))));
+
+        long updated = statuses.stream().filter(status -> status == 200).count();
+        assertThat(updated).isPositive();
+        assertThat(statuses).allMatch(status -> status == 200 || status == 409);
+
+        // Cada atualização confirmada incrementa a versão uma única vez: nenhuma sobrescreveu outra.
+        Product saved = productRepository.findById(product.getId()).orElseThrow();
+        assertThat(saved.getVersion()).isEqualTo(product.getVersion() + updated);
+    }
+
+    @Test
+    @DisplayName("Deve criar um único pedido quando o mesmo Idempotency-Key chega várias vezes ao mesmo tempo")
+    void createOrder_concurrentlyWithSameIdempotencyKey_shouldCreateOrderOnce() throws Exception {
+        String key = UUID.randomUUID().toString();
+        idempotencyKeys.add(key);
+        String body = json(new OrderRequestDTO(customer.getId(), null, List.of(new OrderItemRequestDTO(product.getId(), 1))));
+        long ordersBefore = orderRepository.count();
+
+        List<MvcResult> results = performConcurrently(i -> post("/api/v1/orders")
+                .header("Idempotency-Key", key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body), Function.identity());
+
+        List<Long> orderIds = new ArrayList<>();
+        for (MvcResult result : results) {
+            assertThat(result.getResponse().getStatus()).isEqualTo(201);
+            orderIds.add(((Number) JsonPath.read(result.getResponse().getContentAsString(), "$.id")).longValue());
+        }
+        createdOrderIds.addAll(orderIds.stream().distinct().toList());
+
+        assertThat(orderIds).containsOnly(orderIds.get(0));
+        assertThat(results).filteredOn(result -> "false".equals(result.getResponse().getHeader("Idempotent-Replayed")))
+                .hasSize(1);
+        assertThat(orderRepository.count()).isEqualTo(ordersBefore + 1);
+    }
+
+    private List<Integer> performConcurrently(IntFunction<RequestBuilder> request) throws Exception {
+        return performConcurrently(request, result -> result.getResponse().getStatus());
+    }
+
+    /**
+     * Dispara THREADS requisições liberadas ao mesmo tempo e devolve o que "response" extrai de cada resposta.
+     */
+    private <T> List<T> performConcurrently(IntFunction<RequestBuilder> request, Function<MvcResult, T> response)
+            throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<T>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                RequestBuilder builder = request.apply(i);
+                Callable<T> call = () -> {
+                    start.await();
+                    return response.apply(mockMvc.perform(builder).andReturn());
+                };
+                futures.add(executor.submit(call));
+            }
+            start.countDown();
+
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private String json(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
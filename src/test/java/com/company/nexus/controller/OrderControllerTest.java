@@ -2,9 +2,20 @@ package com.company.nexus.controller;
 
 import com.company.nexus.dto.OrderItemRequestDTO;
 import com.company.nexus.dto.OrderRequestDTO;
+import com.company.nexus.dto.ProductRequestDTO;
 import com.company.nexus.model.*;
 import com.company.nexus.repository.*;
+import com.company.nexus.service.OrderHistoryCache;
+import com.company.nexus.service.OrderHistoryChangedEvent;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.JsonPath;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -12,7 +23,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
@@ -20,17 +34,27 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
 
+import static com.company.nexus.controller.SqlStatementMatchers.maxStatements;
+import static com.company.nexus.controller.SqlStatementMatchers.noRepeatedSelects;
+import static com.company.nexus.controller.SqlStatementMatchers.statementCount;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
 @AutoConfigureMockMvc
 @Transactional
+@RecordApplicationEvents
 class OrderControllerTest {
 
+    private static final int BATCH_BENCHMARK_ITEMS = 20;
+
     @Autowired private MockMvc mockMvc;
     @Autowired private ObjectMapper objectMapper;
     @Autowired private CustomerRepository customerRepository;
@@ -38,6 +62,11 @@ class OrderControllerTest {
     @Autowired private ProductRepository productRepository;
     @Autowired private SupplierRepository supplierRepository;
     @Autowired private OrderRepository orderRepository;
+    @Autowired private EntityManager entityManager;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired private MeterRegistry meterRegistry;
+    @Autowired private OrderHistoryCache orderHistoryCache;
+    @Autowired private ApplicationEvents applicationEvents;
 
     private Customer carrie;
     private Employee doug;
@@ -96,13 +125,179 @@ class OrderControllerTest {
                 .andExpect(jsonPath("$.items[0].productName").value("Big Screen TV"));
     }
 
+    @Test
+    @DisplayName("Deve agrupar linhas repetidas do mesmo produto em um único item")
+    void createOrder_withDuplicatedProductLines_shouldMergeItems() throws Exception {
+        var orderRequestDTO = new OrderRequestDTO(carrie.getId(), null, List.of(
+                new OrderItemRequestDTO(tv.getId(), 1),
+                new OrderItemRequestDTO(tv.getId(), 2)
+        ));
+
+        mockMvc.perform(post("/api/v1/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(orderRequestDTO)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].quantity").value(3))
+                .andExpect(jsonPath("$.totalAmount").value(3600.00));
+    }
+
+    @Test
+    @DisplayName("Deve retornar status 404 listando todos os produtos inexistentes do pedido")
+    void createOrder_withNonExistentProducts_shouldReportAllMissingIds() throws Exception {
+        var orderRequestDTO = new OrderRequestDTO(carrie.getId(), null, List.of(
+                new OrderItemRequestDTO(tv.getId(), 1),
+                new OrderItemRequestDTO(998L, 1),
+                new OrderItemRequestDTO(999L, 1)
+        ));
+
+        mockMvc.perform(post("/api/v1/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(orderRequestDTO)))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Products not found with ids: [998, 999]"));
+    }
+
+    @Test
+    @DisplayName("Deve devolver o mesmo pedido, sem criar outro, quando a requisição é reenviada com o mesmo Idempotency-Key")
+    void createOrder_withRepeatedIdempotencyKey_shouldReplayFirstResponse() throws Exception {
+        String key = UUID.randomUUID().toString();
+        String body = objectMapper.writeValueAsString(
+                new OrderRequestDTO(carrie.getId(), null, List.of(new OrderItemRequestDTO(tv.getId(), 2))));
+        long ordersBefore = orderRepository.count();
+
+        MvcResult first = mockMvc.perform(post("/api/v1/orders")
+                        .header("Idempotency-Key", key)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "false"))
+                .andReturn();
+        Number orderId = JsonPath.read(first.getResponse().getContentAsString(), "$.id");
+
+        mockMvc.perform(post("/api/v1/orders")
+                        .header("Idempotency-Key", key)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andExpect(jsonPath("$.id").value(orderId.longValue()))
+                .andExpect(jsonPath("$.totalAmount").value(2400.00))
+                .andExpect(jsonPath("$.items[0].quantity").value(2));
+
+        assertThat(orderRepository.count()).isEqualTo(ordersBefore + 1);
+    }
+
+    @Test
+    @DisplayName("Deve retornar status 422 quando o Idempotency-Key é reutilizado com outro corpo e não guardar falhas")
+    void createOrder_withReusedIdempotencyKey_shouldRejectDifferentBody() throws Exception {
+        String key = UUID.randomUUID().toString();
+
+        // A falha (404) não é guardada: a mesma chave pode ser usada na requisição corrigida.
+        mockMvc.perform(post("/api/v1/orders")
+                        .header("Idempotency-Key", key)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new OrderRequestDTO(carrie.getId(), null, List.of(new OrderItemRequestDTO(999L, 1))))))
+                .andExpect(status().isNotFound());
+
+        mockMvc.perform(post("/api/v1/orders")
+                        .header("Idempotency-Key", key)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new OrderRequestDTO(carrie.getId(), null, List.of(new OrderItemRequestDTO(tv.getId(), 1))))))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(post("/api/v1/orders")
+                        .header("Idempotency-Key", key)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new OrderRequestDTO(carrie.getId(), null, List.of(new OrderItemRequestDTO(tv.getId(), 3))))))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    @DisplayName("Deve registrar um timer por método de serviço e de repositório usado na criação do pedido")
+    void createOrder_shouldRecordServiceAndRepositoryTimers() throws Exception {
+        long customerLookups = timerCount("nexus.service", "method", "findCustomerById");
+        long productLookups = timerCount("nexus.service", "method", "findProductsByIds");
+        long orderSaves = timerCount("spring.data.repository.invocations", "repository", "OrderRepository");
+        var orderRequestDTO = new OrderRequestDTO(carrie.getId(), null, List.of(new OrderItemRequestDTO(tv.getId(), 1)));
+
+        mockMvc.perform(post("/api/v1/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(orderRequestDTO)))
+                .andExpect(status().isCreated());
+
+        assertThat(timerCount("nexus.service", "method", "findCustomerById")).isEqualTo(customerLookups + 1);
+        assertThat(timerCount("nexus.service", "method", "findProductsByIds")).isEqualTo(productLookups + 1);
+        assertThat(timerCount("spring.data.repository.invocations", "repository", "OrderRepository")).isGreaterThan(orderSaves);
+    }
+
+    @Test
+    @DisplayName("Deve aceitar um pedido assíncrono com 202 e reportar a falha de validação no status")
+    void submitOrder_withNonExistentCustomer_shouldBeAcceptedAndThenFail() throws Exception {
+        // Os workers usam transações próprias e não enxergam os dados do teste: um cliente inexistente
+        // exercita o caminho completo (fila -> worker -> status) sem depender deles.
+        var orderRequestDTO = new OrderRequestDTO(999_999L, null, List.of(new OrderItemRequestDTO(tv.getId(), 1)));
+
+        String body = mockMvc.perform(post("/api/v1/orders/async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(orderRequestDTO)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().exists("Location"))
+                .andExpect(jsonPath("$.status").value("QUEUED"))
+                .andReturn().getResponse().getContentAsString();
+        String trackingId = JsonPath.read(body, "$.trackingId");
+
+        String status = "QUEUED";
+        for (int attempt = 0; attempt < 50 && !"FAILED".equals(status); attempt++) {
+            Thread.sleep(100);
+            String statusBody = mockMvc.perform(get("/api/v1/orders/submissions/{trackingId}", trackingId))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            status = JsonPath.read(statusBody, "$.status");
+        }
+
+        assertThat(status).isEqualTo("FAILED");
+        mockMvc.perform(get("/api/v1/orders/submissions/{trackingId}", trackingId))
+                .andExpect(jsonPath("$.error").value("Customer not found with id: 999999"));
+    }
+
+    @Test
+    @DisplayName("Deve retornar status 404 para um trackingId desconhecido")
+    void getSubmission_whenTrackingIdIsUnknown_shouldReturnNotFound() throws Exception {
+        mockMvc.perform(get("/api/v1/orders/submissions/{trackingId}", UUID.randomUUID()))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Deve inserir os itens do pedido em lotes JDBC")
+    void createOrder_withManyItems_shouldBatchItemInserts() throws Exception {
+        long statements = countStatementsToCreateOrder(BATCH_BENCHMARK_ITEMS);
+
+        // Cliente + produtos (IN) + sequências (pooled) + INSERT do pedido + um único lote com os itens
+        // + INSERT do registro no outbox (change_events).
+        assertThat(statements).isLessThanOrEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("Sem batching, cada item do pedido gera o seu próprio INSERT")
+    void createOrder_withBatchingDisabled_shouldInsertItemsOneByOne() throws Exception {
+        entityManager.unwrap(Session.class).setJdbcBatchSize(1);
+
+        long statements = countStatementsToCreateOrder(BATCH_BENCHMARK_ITEMS);
+
+        assertThat(statements).isGreaterThan(BATCH_BENCHMARK_ITEMS);
+    }
+
     @Test
     @DisplayName("Deve buscar um pedido pelo ID com sucesso")
     void getOrderById_whenIdExists_shouldReturnOrder() throws Exception {
         Order order = new Order();
         order.setCustomer(carrie);
         order.setOrderDate(LocalDateTime.now());
-        order.setStatus("PENDING_PAYMENT");
+        order.setStatus(OrderStatus.PENDING_PAYMENT);
         Order savedOrder = orderRepository.save(order);
 
         mockMvc.perform(get("/api/v1/orders/{id}", savedOrder.getId()))
@@ -111,13 +306,142 @@ class OrderControllerTest {
                 .andExpect(jsonPath("$.customerId").value(carrie.getId()));
     }
 
+    @Test
+    @DisplayName("Deve listar pedidos com um número fixo de consultas, qualquer que seja a quantidade de pedidos")
+    void getAllOrders_shouldExecuteConstantNumberOfStatements() throws Exception {
+        Product radio = productRepository.save(new Product(
+                null, "Radio", "AM/FM", new BigDecimal("80.00"), "RADIO-01", tv.getSupplier()
+        ));
+
+        // Página de pedidos (cliente e funcionário no JOIN) + itens e produtos de toda a página.
+        assertThat(countStatementsToListOrders(1, radio)).isEqualTo(2);
+        assertThat(countStatementsToListOrders(10, radio)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Deve ler só as colunas pedidas em ?fields= e os itens só com ?embed=items")
+    void getAllOrders_withFieldsAndEmbed_shouldQueryOnlyWhatWasRequested() throws Exception {
+        saveOrderWithItems(tv);
+        entityManager.flush();
+        entityManager.clear();
+
+        // Sem cliente, funcionário ou itens: uma consulta só à tabela de pedidos.
+        mockMvc.perform(get("/api/v1/orders").param("fields", "id,totalAmount"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").exists())
+                .andExpect(jsonPath("$.content[0].totalAmount").hasJsonPath())
+                .andExpect(jsonPath("$.content[0].customerName").doesNotExist())
+                .andExpect(jsonPath("$.content[0].items").doesNotExist())
+                .andExpect(statementCount(1));
+
+        mockMvc.perform(get("/api/v1/orders").param("fields", "customerName").param("embed", "items"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].customerName").value("Carrie Heffernan"))
+                .andExpect(jsonPath("$.content[0].employeeName").doesNotExist())
+                .andExpect(jsonPath("$.content[0].items[0].productName").value("Big Screen TV"))
+                .andExpect(statementCount(2));
+
+        mockMvc.perform(get("/api/v1/orders").param("fields", "id,customer"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Deve buscar um pedido pelo ID com todas as associações em uma única consulta")
+    void getOrderById_shouldLoadOrderGraphInSingleStatement() throws Exception {
+        Order order = saveOrderWithItems(tv);
+        entityManager.flush();
+        entityManager.clear();
+
+        mockMvc.perform(get("/api/v1/orders/{id}", order.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.employeeName").value("Doug Heffernan"))
+                .andExpect(jsonPath("$.items[0].productName").value("Big Screen TV"))
+                .andExpect(statementCount(1));
+    }
+
+    @Test
+    @DisplayName("Deve paginar o histórico de pedidos do cliente do mais recente para o mais antigo")
+    void getOrdersByCustomerId_withManyOrders_shouldReturnHistoryPages() throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+        Order oldest = saveOrderWithItems(tv);
+        oldest.setOrderDate(now.minusDays(2));
+        Order middle = saveOrderWithItems(tv);
+        middle.setOrderDate(now.minusDays(1));
+        Order newest = saveOrderWithItems(tv);
+        newest.setOrderDate(now);
+
+        String firstPage = mockMvc.perform(get("/api/v1/orders/customer/{customerId}", carrie.getId())
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2))
+                .andExpect(jsonPath("$.content[0].id").value(newest.getId()))
+                .andExpect(jsonPath("$.content[1].id").value(middle.getId()))
+                .andReturn().getResponse().getContentAsString();
+        String next = JsonPath.read(firstPage, "$.next");
+
+        mockMvc.perform(get("/api/v1/orders/customer/{customerId}", carrie.getId())
+                        .param("size", "2")
+                        .param("cursor", next))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].id").value(oldest.getId()))
+                .andExpect(jsonPath("$.content[0].items[0].productName").value("Big Screen TV"));
+    }
+
+    @Test
+    @DisplayName("Deve servir o histórico do cliente pelo cache até o histórico ser invalidado")
+    void getOrdersByCustomerId_shouldServeFromCacheUntilInvalidated() throws Exception {
+        saveOrderWithItems(tv);
+        mockMvc.perform(get("/api/v1/orders/customer/{customerId}", carrie.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1));
+
+        saveOrderWithItems(tv);  // Gravado direto pelo repositório: nenhum evento de invalidação é publicado.
+        entityManager.flush();
+        double hits = cacheGets("hit");
+
+        mockMvc.perform(get("/api/v1/orders/customer/{customerId}", carrie.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(statementCount(0));
+        assertThat(cacheGets("hit")).isEqualTo(hits + 1);
+
+        // Nos testes a transação nunca é confirmada, então o evento AFTER_COMMIT é entregue manualmente.
+        orderHistoryCache.onOrderHistoryChanged(new OrderHistoryChangedEvent(carrie.getId()));
+
+        mockMvc.perform(get("/api/v1/orders/customer/{customerId}", carrie.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2));
+    }
+
+    @Test
+    @DisplayName("Deve descartar o histórico em cache quando um produto do pedido for renomeado")
+    void getOrdersByCustomerId_afterProductRename_shouldShowNewName() throws Exception {
+        saveOrderWithItems(tv);
+        mockMvc.perform(get("/api/v1/orders/customer/{customerId}", carrie.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].items[0].productName").value("Big Screen TV"));
+
+        mockMvc.perform(put("/api/v1/products/{id}", tv.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ProductRequestDTO(
+                                "Giant Screen TV", tv.getDescription(), tv.getPrice(), tv.getSku(), tv.getSupplier().getId()))))
+                .andExpect(status().isOk());
+        // Nos testes a transação nunca é confirmada, então os eventos AFTER_COMMIT são entregues manualmente.
+        applicationEvents.stream(OrderHistoryChangedEvent.class).forEach(orderHistoryCache::onOrderHistoryChanged);
+
+        mockMvc.perform(get("/api/v1/orders/customer/{customerId}", carrie.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].items[0].productName").value("Giant Screen TV"));
+    }
+
     @Test
     @DisplayName("Deve cancelar um pedido com sucesso e retornar status 200")
     void cancelOrder_whenOrderIsCancellable_shouldReturnOk() throws Exception {
         Order order = new Order();
         order.setCustomer(carrie);
         order.setOrderDate(LocalDateTime.now());
-        order.setStatus("PENDING_PAYMENT"); // Status que permite cancelamento
+        order.setStatus(OrderStatus.PENDING_PAYMENT); // Status que permite cancelamento
         Order savedOrder = orderRepository.save(order);
 
         mockMvc.perform(post("/api/v1/orders/{id}/cancel", savedOrder.getId()))
@@ -131,10 +455,139 @@ class OrderControllerTest {
         Order order = new Order();
         order.setCustomer(carrie);
         order.setOrderDate(LocalDateTime.now());
-        order.setStatus("SHIPPED"); // Status que NÃO permite cancelamento
+        order.setStatus(OrderStatus.SHIPPED); // Status que NÃO permite cancelamento
         Order savedOrder = orderRepository.save(order);
 
         mockMvc.perform(post("/api/v1/orders/{id}/cancel", savedOrder.getId()))
                 .andExpect(status().isConflict()); // Esperamos 409 Conflict, tratado pelo nosso handler
     }
+
+    @Test
+    @DisplayName("Deve seguir o fluxo pendente → pago → enviado → entregue e recusar transições inválidas com 409")
+    void orderLifecycle_shouldFollowTransitionTable() throws Exception {
+        Order order = saveOrderWithItems(tv);
+
+        mockMvc.perform(post("/api/v1/orders/{id}/ship", order.getId()))
+                .andExpect(status().isConflict());
+        mockMvc.perform(post("/api/v1/orders/{id}/pay", order.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("PAID"));
+        mockMvc.perform(post("/api/v1/orders/{id}/cancel", order.getId()))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("Order cannot be moved from PAID to CANCELLED."));
+        mockMvc.perform(post("/api/v1/orders/{id}/ship", order.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("SHIPPED"));
+        mockMvc.perform(post("/api/v1/orders/{id}/deliver", order.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("DELIVERED"));
+        mockMvc.perform(post("/api/v1/orders/{id}/pay", order.getId()))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    @DisplayName("Deve filtrar pedidos por status, do mais antigo para o mais recente")
+    void getAllOrders_withStatus_shouldReturnOldestMatchingOrdersFirst() throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+        Order recentPending = saveOrderWithItems(tv);
+        recentPending.setOrderDate(now.minusHours(1));
+        Order stuckPending = saveOrderWithItems(tv);
+        stuckPending.setOrderDate(now.minusDays(3));
+        Order paid = saveOrderWithItems(tv);
+        paid.setStatus(OrderStatus.PAID);
+        entityManager.flush();
+        entityManager.clear();
+
+        String firstPage = mockMvc.perform(get("/api/v1/orders").param("status", "PENDING_PAYMENT").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].id").value(stuckPending.getId()))
+                .andExpect(maxStatements(2))
+                .andReturn().getResponse().getContentAsString();
+        String next = JsonPath.read(firstPage, "$.next");
+
+        mockMvc.perform(get("/api/v1/orders").param("status", "PENDING_PAYMENT").param("size", "1").param("cursor", next))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(recentPending.getId()));
+
+        mockMvc.perform(get("/api/v1/orders").param("status", "LOST"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets")
+                .tags("cache", OrderHistoryCache.CACHE_NAME, "result", result)
+                .functionCounter()
+                .count();
+    }
+
+    /**
+     * Cria um pedido com a quantidade de itens informada e retorna quantas instruções JDBC
+     * foram preparadas entre o recebimento da requisição e o flush final.
+     */
+    private long countStatementsToCreateOrder(int itemCount) throws Exception {
+        List<OrderItemRequestDTO> items = new ArrayList<>();
+        for (int i = 0; i < itemCount; i++) {
+            Product product = productRepository.save(new Product(
+                    null, "Product " + i, null, BigDecimal.ONE, "SKU-BATCH-" + i, tv.getSupplier()
+            ));
+            items.add(new OrderItemRequestDTO(product.getId(), 1));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(post("/api/v1/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new OrderRequestDTO(carrie.getId(), null, items))))
+                .andExpect(status().isCreated());
+        entityManager.flush();
+
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(itemCount + 2);  // Pedido, itens e outbox.
+        return statistics.getPrepareStatementCount();
+    }
+
+    private long timerCount(String name, String tagKey, String tagValue) {
+        return meterRegistry.find(name).tag(tagKey, tagValue).timers().stream().mapToLong(Timer::count).sum();
+    }
+
+    /**
+     * Acrescenta pedidos com dois itens cada e retorna quantas instruções JDBC a listagem executou.
+     */
+    private long countStatementsToListOrders(int newOrders, Product otherProduct) throws Exception {
+        for (int i = 0; i < newOrders; i++) {
+            saveOrderWithItems(tv, otherProduct);
+        }
+        long totalOrders = orderRepository.count();
+        entityManager.flush();
+        entityManager.clear();
+
+        MvcResult result = mockMvc.perform(get("/api/v1/orders").param("size", "100"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(totalOrders))
+                .andExpect(jsonPath("$.content[0].customerName").value("Carrie Heffernan"))
+                .andExpect(jsonPath("$.content[0].items.length()").value(2))
+                .andExpect(noRepeatedSelects())
+                .andReturn();
+
+        return SqlStatementMatchers.stats(result).statements();
+    }
+
+    private Order saveOrderWithItems(Product... products) {
+        Order order = new Order();
+        order.setCustomer(carrie);
+        order.setEmployee(doug);
+        order.setOrderDate(LocalDateTime.now());
+        order.setStatus(OrderStatus.PENDING_PAYMENT);
+        for (Product product : products) {
+            OrderItem item = new OrderItem();
+            item.setProduct(product);
+            item.setQuantity(1);
+            item.setUnitPrice(product.getPrice());
+            order.addItem(item);
+        }
+        return orderRepository.save(order);
+    }
 }
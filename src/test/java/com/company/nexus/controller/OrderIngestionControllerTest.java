@@ -0,0 +1,174 @@
+package com.company.nexus.controller;
+
+import com.company.nexus.dto.OrderItemRequestDTO;
+import com.company.nexus.dto.OrderRequestDTO;
+import com.company.nexus.dto.OrderSubmissionDTO;
+import com.company.nexus.model.Customer;
+import com.company.nexus.model.Product;
+import com.company.nexus.model.Supplier;
+import com.company.nexus.repository.CustomerRepository;
+import com.company.nexus.repository.OrderRepository;
+import com.company.nexus.repository.ProductRepository;
+import com.company.nexus.repository.SupplierRepository;
+import com.company.nexus.service.OrderService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Fila de ingestão assíncrona (POST /api/v1/orders/async) com capacidade 1 e um único worker, para que a fila
+ * encha de forma determinística. Os pedidos são gravados pelo worker em outra thread, então a classe não é
+ * @Transactional: os dados têm identificadores únicos e são removidos ao final de cada teste.
+ */
+@SpringBootTest(properties = {
+        "nexus.orders.ingestion.queue-capacity=1",
+        "nexus.orders.ingestion.workers=1"
+})
+@AutoConfigureMockMvc
+class OrderIngestionControllerTest {
+
+    private static final long TIMEOUT_SECONDS = 10;
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private CustomerRepository customerRepository;
+    @Autowired private SupplierRepository supplierRepository;
+    @Autowired private ProductRepository productRepository;
+    @Autowired private OrderRepository orderRepository;
+    @MockitoSpyBean private OrderService orderService;
+
+    private Customer customer;
+    private Supplier supplier;
+    private Product product;
+    private final List<Long> createdOrderIds = new ArrayList<>();
+    private final CountDownLatch releaseWorker = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString();
+        customer = customerRepository.save(new Customer(
+                null, "Arthur", "Spooner", "arthur-" + suffix + "@example.com", "333", "Queens, NY"
+        ));
+        supplier = supplierRepository.save(new Supplier(
+                null, "Kelly Bakery", "Kelly", "kelly-" + suffix + "@bakery.com", "444", new ArrayList<>()
+        ));
+        product = productRepository.save(new Product(
+                null, "Cheesecake", "Sobremesa", new BigDecimal("25.00"), "CAKE-" + suffix, supplier
+        ));
+    }
+
+    @AfterEach
+    void tearDown() {
+        releaseWorker.countDown();  // Um teste que falhou com o worker parado não pode travar os seguintes.
+        orderRepository.deleteAllById(createdOrderIds);
+        productRepository.deleteById(product.getId());
+        supplierRepository.deleteById(supplier.getId());
+        customerRepository.deleteById(customer.getId());
+    }
+
+    @Test
+    @DisplayName("Deve recusar com 429 o envio que encontra a fila cheia e processar os já aceitos")
+    void submitOrder_whenQueueIsFull_shouldReturnTooManyRequests() throws Exception {
+        CountDownLatch workerBusy = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            workerBusy.countDown();
+            releaseWorker.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            return invocation.callRealMethod();
+        }).when(orderService).buildOrder(any());
+
+        String first = submit(validOrder())
+                .andExpect(status().isAccepted())
+                .andReturn().getResponse().getHeader("Location");
+        assertThat(workerBusy.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isTrue();  // O único worker está ocupado.
+        String second = submit(validOrder())
+                .andExpect(status().isAccepted())
+                .andReturn().getResponse().getHeader("Location");
+
+        submit(validOrder())
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists("Retry-After"));
+
+        releaseWorker.countDown();
+        assertThat(awaitOutcome(first).status()).isEqualTo(OrderSubmissionDTO.Status.COMPLETED);
+        assertThat(awaitOutcome(second).status()).isEqualTo(OrderSubmissionDTO.Status.COMPLETED);
+    }
+
+    @Test
+    @DisplayName("Deve informar pela URL de acompanhamento o pedido criado ou o motivo da falha")
+    void getSubmission_shouldReachCompletedOrFailed() throws Exception {
+        String accepted = submit(validOrder())
+                .andExpect(status().isAccepted())
+                .andReturn().getResponse().getHeader("Location");
+        OrderSubmissionDTO completed = awaitOutcome(accepted);
+
+        assertThat(completed.status()).isEqualTo(OrderSubmissionDTO.Status.COMPLETED);
+        assertThat(orderRepository.findById(completed.orderId())).isPresent();
+
+        String rejected = submit(new OrderRequestDTO(customer.getId(), null, List.of(new OrderItemRequestDTO(-1L, 1))))
+                .andExpect(status().isAccepted())
+                .andReturn().getResponse().getHeader("Location");
+        OrderSubmissionDTO failed = awaitOutcome(rejected);
+
+        assertThat(failed.status()).isEqualTo(OrderSubmissionDTO.Status.FAILED);
+        assertThat(failed.orderId()).isNull();
+        assertThat(failed.error()).contains("-1");
+    }
+
+    private OrderRequestDTO validOrder() {
+        return new OrderRequestDTO(customer.getId(), null, List.of(new OrderItemRequestDTO(product.getId(), 1)));
+    }
+
+    private ResultActions submit(OrderRequestDTO requestDTO) throws Exception {
+        return mockMvc.perform(post("/api/v1/orders/async")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(requestDTO)));
+    }
+
+    /**
+     * Consulta a URL devolvida no 202 até o envio sair de QUEUED/PROCESSING, como um cliente faria.
+     */
+    private OrderSubmissionDTO awaitOutcome(String location) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+        while (true) {
+            String body = mockMvc.perform(get(location))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            OrderSubmissionDTO submission = objectMapper.readValue(body, OrderSubmissionDTO.class);
+            if (submission.status() == OrderSubmissionDTO.Status.COMPLETED
+                    || submission.status() == OrderSubmissionDTO.Status.FAILED) {
+                if (submission.orderId() != null) {
+                    createdOrderIds.add(submission.orderId());
+                }
+                return submission;
+            }
+            assertThat(System.nanoTime())
+                    .as("submission %s still %s", location, submission.status())
+                    .isLessThan(deadline);
+            Thread.sleep(50);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.company.nexus.controller;
+
+import com.company.nexus.model.Product;
+import com.company.nexus.model.Supplier;
+import com.company.nexus.repository.ProductRepository;
+import com.company.nexus.repository.SupplierRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.EntityStatistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static com.company.nexus.controller.SqlStatementMatchers.statementCount;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Cache de segundo nível de produtos e fornecedores. Com READ_WRITE, uma sessão só enxerga no cache o que foi
+ * gravado nele antes de ela abrir, então cada leitura precisa de sua própria transação: a classe não é
+ * @Transactional, e os dados têm identificadores únicos e são removidos ao final de cada teste.
+ * <p>
+ * As contagens por entidade vêm das estatísticas do Hibernate, que são globais; só as de Product são usadas,
+ * porque nenhuma tarefa em segundo plano (ex.: o relay do feed) carrega produtos.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ProductCacheControllerTest {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private SupplierRepository supplierRepository;
+    @Autowired private ProductRepository productRepository;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private Supplier supplier;
+    private final List<Product> products = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        String suffix = UUID.randomUUID().toString();
+        supplier = supplierRepository.save(new Supplier(
+                null, "Kelly Bakery", "Kelly", "kelly-" + suffix + "@bakery.com", "444", new ArrayList<>()
+        ));
+        for (int i = 0; i < 3; i++) {
+            products.add(productRepository.save(new Product(
+                    null, "Cheesecake " + i, "Sobremesa", new BigDecimal("25.00"), "CAKE-" + i + "-" + suffix, supplier
+            )));
+        }
+        entityManagerFactory.getCache().evictAll();  // A primeira leitura de cada teste vai ao banco.
+    }
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAll(products);
+        supplierRepository.deleteById(supplier.getId());
+    }
+
+    @Test
+    @DisplayName("Deve ler do cache, sem SQL, o produto e o fornecedor a partir da segunda busca por ID")
+    void getProductById_secondRead_shouldSkipEntityQueries() throws Exception {
+        Long id = products.get(0).getId();
+
+        // Produto e fornecedor. Sem If-None-Match, o ETag sai das versões carregadas, sem consulta própria.
+        mockMvc.perform(get("/api/v1/products/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(statementCount(2));
+
+        // Produto e fornecedor vêm do segundo nível.
+        mockMvc.perform(get("/api/v1/products/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.supplier.name").value("Kelly Bakery"))
+                .andExpect(statementCount(0));
+
+        // Com If-None-Match, a consulta do ETag (que não passa pelo cache) vem antes; o tag antigo não confere.
+        mockMvc.perform(get("/api/v1/products/{id}", id).header("If-None-Match", "W/\"stale\""))
+                .andExpect(status().isOk())
+                .andExpect(statementCount(1));
+    }
+
+    @Test
+    @DisplayName("Deve buscar no banco só os produtos que ainda não estão no cache")
+    void findAllByIdCached_shouldLoadOnlyMissingIds() {
+        List<Long> ids = products.stream().map(Product::getId).toList();
+        EntityStatistics statistics = entityManagerFactory.unwrap(SessionFactory.class)
+                .getStatistics()
+                .getEntityStatistics(Product.class.getName());
+
+        transactionTemplate.executeWithoutResult(status -> productRepository.findById(ids.get(0)));
+        long loads = statistics.getLoadCount();
+        long hits = statistics.getCacheHitCount();
+
+        List<Product> loaded = transactionTemplate.execute(status -> productRepository.findAllByIdCached(ids));
+
+        assertThat(loaded).extracting(Product::getId).containsExactlyInAnyOrderElementsOf(ids);
+        assertThat(statistics.getLoadCount() - loads).isEqualTo(2);
+        assertThat(statistics.getCacheHitCount() - hits).isEqualTo(1);
+
+        // Agora todos estão no cache: a segunda busca não carrega nada do banco.
+        loads = statistics.getLoadCount();
+        transactionTemplate.execute(status -> productRepository.findAllByIdCached(ids));
+        assertThat(statistics.getLoadCount()).isEqualTo(loads);
+    }
+}
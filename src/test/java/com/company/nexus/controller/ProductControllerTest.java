@@ -5,7 +5,13 @@ import com.company.nexus.model.Product;
 import com.company.nexus.model.Supplier;
 import com.company.nexus.repository.ProductRepository;
 import com.company.nexus.repository.SupplierRepository;
+import com.company.nexus.service.ProductChangedEvent;
+import com.company.nexus.service.ProductSearchIndex;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileConstants;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -13,19 +19,28 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
 
+import static com.company.nexus.controller.SqlStatementMatchers.statementCount;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
 @AutoConfigureMockMvc
 @Transactional
+@RecordApplicationEvents
 public class ProductControllerTest {
 
     @Autowired
@@ -36,6 +51,10 @@ public class ProductControllerTest {
     private ProductRepository productRepository;
     @Autowired
     private SupplierRepository supplierRepository;
+    @Autowired
+    private ProductSearchIndex productSearchIndex;
+    @Autowired
+    private ApplicationEvents applicationEvents;
 
     private Supplier defaultSupplier;
 
@@ -106,6 +125,50 @@ public class ProductControllerTest {
                 .andExpect(jsonPath("$.name").value("RAM 16GB"));
     }
 
+    @Test
+    @DisplayName("Deve mudar o ETag do produto quando o fornecedor aninhado for alterado")
+    void getProductById_whenSupplierChanges_shouldReturnNewEntityTag() throws Exception {
+        Product product = productRepository.saveAndFlush(new Product(
+                null, "Webcam", "Full HD", new BigDecimal("199.90"), "CAM-FHD", defaultSupplier
+        ));
+        String etag = "W/\"" + product.getVersion() + "." + defaultSupplier.getVersion() + "\"";
+
+        mockMvc.perform(get("/api/v1/products/{id}", product.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", etag));
+        mockMvc.perform(get("/api/v1/products/{id}", product.getId()).header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        // A resposta do produto traz o fornecedor: alterá-lo também invalida o ETag do produto.
+        defaultSupplier.setContactPerson("Beatriz");
+        supplierRepository.flush();
+
+        mockMvc.perform(get("/api/v1/products/{id}", product.getId()).header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "W/\"" + product.getVersion() + "." + defaultSupplier.getVersion() + "\""))
+                .andExpect(jsonPath("$.supplier.contactPerson").value("Beatriz"));
+    }
+
+    @Test
+    @DisplayName("Deve listar produtos com o fornecedor aninhado")
+    void getAllProducts_shouldReturnProductsWithSupplier() throws Exception {
+        productRepository.save(new Product(
+                null,
+                "Teclado",
+                "Teclado mecânico",
+                new BigDecimal("300.00"),
+                "KEYB-MEC-01",
+                defaultSupplier
+        ));
+
+        mockMvc.perform(get("/api/v1/products"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].sku").value("KEYB-MEC-01"))
+                .andExpect(jsonPath("$.content[0].description").value("Teclado mecânico"))
+                .andExpect(jsonPath("$.content[0].supplier.id").value(defaultSupplier.getId()))
+                .andExpect(jsonPath("$.content[0].supplier.name").value("Componentes BR"));
+    }
+
     @Test
     @DisplayName("Deve atualizar um produto com sucesso")
     void updateProduct_withValidData_shouldReturnOk() throws Exception {
@@ -129,6 +192,35 @@ public class ProductControllerTest {
                 .andExpect(jsonPath("$.sku").value("NEW-SKU"));
     }
 
+    @Test
+    @DisplayName("Deve aceitar no If-Match o ETag fraco devolvido pela leitura e recusar com 412 um ETag antigo")
+    void updateProduct_withWeakIfMatch_shouldCompareVersion() throws Exception {
+        Product product = productRepository.saveAndFlush(new Product(
+                null, "Hub USB", "4 portas", new BigDecimal("89.90"), "HUB-USB-4", defaultSupplier
+        ));
+        String etag = mockMvc.perform(get("/api/v1/products/{id}", product.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        assertTrue(etag.startsWith("W/\""));
+        String requestBody = objectMapper.writeValueAsString(new ProductRequestDTO(
+                "Hub USB-C", "4 portas", new BigDecimal("89.90"), "HUB-USB-4", defaultSupplier.getId()
+        ));
+
+        mockMvc.perform(put("/api/v1/products/{id}", product.getId())
+                        .header("If-Match", etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBody))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Hub USB-C"));
+        productRepository.flush();  // Incrementa a versão, como o commit da requisição faria.
+
+        mockMvc.perform(put("/api/v1/products/{id}", product.getId())
+                        .header("If-Match", etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBody))
+                .andExpect(status().isPreconditionFailed());
+    }
+
     @Test
     @DisplayName("Deve excluir um produto com sucesso")
     void deleteProduct_whenIdExists_shouldReturnNoContent() throws Exception {
@@ -139,4 +231,196 @@ public class ProductControllerTest {
         mockMvc.perform(delete("/api/v1/products/{id}", productToDelete.getId()))
                 .andExpect(status().isNoContent());
     }
+
+    @Test
+    @DisplayName("Deve listar produtos e fornecedores com uma consulta, além da consulta do ETag")
+    void getAllProducts_shouldExecuteListAndTagStatements() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            productRepository.save(new Product(
+                    null, "Produto " + i, null, BigDecimal.TEN, "SKU-LIST-" + i, defaultSupplier
+            ));
+        }
+        productRepository.flush();  // Os INSERTs pendentes não entram na conta da requisição.
+
+        mockMvc.perform(get("/api/v1/products"))
+                .andExpect(status().isOk())
+                .andExpect(statementCount(2));
+    }
+
+    @Test
+    @DisplayName("Deve listar só os campos pedidos em ?fields=, com o fornecedor apenas em ?embed=supplier")
+    void getAllProducts_withFieldsAndEmbed_shouldReturnOnlyRequestedData() throws Exception {
+        productRepository.saveAndFlush(new Product(
+                null, "Mousepad", "Grande", new BigDecimal("49.90"), "PAD-XL", defaultSupplier
+        ));
+
+        mockMvc.perform(get("/api/v1/products").param("fields", "sku,price"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").exists())
+                .andExpect(jsonPath("$.content[0].sku").value("PAD-XL"))
+                .andExpect(jsonPath("$.content[0].name").doesNotExist())
+                .andExpect(jsonPath("$.content[0].supplier").doesNotExist());
+
+        mockMvc.perform(get("/api/v1/products").param("fields", "sku").param("embed", "supplier"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].supplier.name").value("Componentes BR"));
+
+        mockMvc.perform(get("/api/v1/products").param("embed", "orders"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Deve negociar a listagem de produtos em CBOR pelo cabeçalho Accept")
+    void getAllProducts_withCborAccept_shouldReturnCbor() throws Exception {
+        productRepository.saveAndFlush(new Product(
+                null, "Headset", "USB", new BigDecimal("299.90"), "HS-USB", defaultSupplier
+        ));
+
+        byte[] body = mockMvc.perform(get("/api/v1/products").accept("application/cbor"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/cbor"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode page = new CBORMapper().readTree(body);
+        assertEquals("HS-USB", page.get("content").get(0).get("sku").asText());
+        assertEquals("Componentes BR", page.get("content").get(0).get("supplier").get("name").asText());
+    }
+
+    @Test
+    @DisplayName("Deve negociar a listagem de produtos em Smile, com valores repetidos compartilhados")
+    void getAllProducts_withSmileAccept_shouldReturnSmileWithSharedValues() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            productRepository.save(new Product(
+                    null, "Cabo " + i, "HDMI", new BigDecimal("39.90"), "CABLE-HDMI-" + i, defaultSupplier
+            ));
+        }
+        productRepository.flush();
+
+        byte[] body = mockMvc.perform(get("/api/v1/products").accept("application/x-jackson-smile"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-jackson-smile"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Cabeçalho ":)\n" + byte de flags: os valores curtos repetidos (o fornecedor de cada produto) são referenciados.
+        assertTrue((body[3] & SmileConstants.HEADER_BIT_HAS_SHARED_STRING_VALUES) != 0);
+        JsonNode page = new SmileMapper().readTree(body);
+        assertEquals(3, page.get("content").size());
+        for (JsonNode product : page.get("content")) {
+            assertEquals("HDMI", product.get("description").asText());
+            assertEquals("Componentes BR", product.get("supplier").get("name").asText());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve importar produtos em lote e reportar as linhas rejeitadas")
+    void importProducts_withMixedRows_shouldImportValidRowsAndReportErrors() throws Exception {
+        productRepository.save(new Product(null, "HD 2TB", "Disco", new BigDecimal("300.00"), "HD-2TB", defaultSupplier));
+        Long supplierId = defaultSupplier.getId();
+        String ndjson = String.join("\n",
+                "{\"name\":\"SSD 1TB\",\"price\":350.00,\"sku\":\"SSD-1TB\",\"supplierId\":" + supplierId + "}",
+                "{\"name\":\"HD 2TB\",\"price\":300.00,\"sku\":\"HD-2TB\",\"supplierId\":" + supplierId + "}",
+                "{\"name\":\"Mouse\",\"price\":50.00,\"sku\":\"MOUSE-1\",\"supplierId\":999999}",
+                "{\"price\":10.00,\"sku\":\"NO-NAME\",\"supplierId\":" + supplierId + "}",
+                "{\"name\":",
+                "{\"name\":\"SSD 1TB (2)\",\"price\":350.00,\"sku\":\"SSD-1TB\",\"supplierId\":" + supplierId + "}");
+
+        mockMvc.perform(post("/api/v1/products/import")
+                        .contentType("application/x-ndjson")
+                        .content(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.processed").value(6))
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.rejected").value(5))
+                .andExpect(jsonPath("$.errors[*].line", containsInAnyOrder(2, 3, 4, 5, 6)))
+                .andExpect(jsonPath("$.errorsTruncated").value(false));
+
+        assertTrue(productRepository.findBySku("SSD-1TB").isPresent());
+    }
+
+    @Test
+    @DisplayName("Deve buscar produtos por prefixo, ranqueando o nome acima da descrição e filtrando por fornecedor")
+    void searchProducts_withPrefixAndSupplierFilter_shouldReturnRankedMatches() throws Exception {
+        Supplier otherSupplier = supplierRepository.save(new Supplier(
+                null, "Periféricos SA", "Rui", "rui@perifericos.com", "555", new ArrayList<>()
+        ));
+        Product keyboard = productRepository.save(new Product(
+                null, "Teclado Mecânico", "Switches azuis", new BigDecimal("300.00"), "KEYB-MEC-01", defaultSupplier
+        ));
+        Product kit = productRepository.save(new Product(
+                null, "Kit Gamer", "Mouse e teclado", new BigDecimal("200.00"), "KIT-GAMER-01", defaultSupplier
+        ));
+        Product membrane = productRepository.save(new Product(
+                null, "Teclado de Membrana", "Silencioso", new BigDecimal("90.00"), "KEYB-MEM-01", otherSupplier
+        ));
+        productRepository.save(new Product(
+                null, "Monitor 24", "Full HD", new BigDecimal("900.00"), "MON-24", defaultSupplier
+        ));
+        productSearchIndex.rebuild();  // Os eventos de indexação só rodam após o commit, que o teste nunca faz.
+
+        mockMvc.perform(get("/api/v1/products/search").param("q", "mecanico tecl"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(keyboard.getId()));
+
+        mockMvc.perform(get("/api/v1/products/search").param("q", "tecl"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[2].id").value(kit.getId()))
+                .andExpect(statementCount(1));
+
+        mockMvc.perform(get("/api/v1/products/search")
+                        .param("q", "teclado")
+                        .param("supplierId", otherSupplier.getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(membrane.getId()));
+
+        mockMvc.perform(get("/api/v1/products/search").param("q", "keyb-mem-01"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(membrane.getId()));
+    }
+
+    @Test
+    @DisplayName("Deve tolerar erros de digitação na busca apenas quando fuzzy=true")
+    void searchProducts_withTypo_shouldMatchOnlyWhenFuzzy() throws Exception {
+        Product monitor = productRepository.save(new Product(
+                null, "Monitor Ultrawide", "Tela curva", new BigDecimal("1900.00"), "MON-UW-34", defaultSupplier
+        ));
+        productSearchIndex.rebuild();
+
+        mockMvc.perform(get("/api/v1/products/search").param("q", "ultrawdie"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+
+        mockMvc.perform(get("/api/v1/products/search").param("q", "ultrawdie").param("fuzzy", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(monitor.getId()));
+
+        mockMvc.perform(get("/api/v1/products/search").param("q", " "))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Deve remover da busca os produtos excluídos junto com o fornecedor")
+    void searchProducts_afterSupplierDelete_shouldNotReturnCascadedProducts() throws Exception {
+        Product keyboard = productRepository.save(new Product(
+                null, "Teclado Sem Fio", "Bluetooth", new BigDecimal("150.00"), "KEYB-BT-01", defaultSupplier
+        ));
+        defaultSupplier.getProducts().add(keyboard);
+        productSearchIndex.rebuild();
+
+        mockMvc.perform(get("/api/v1/products/search").param("q", "bluetooth"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(keyboard.getId()));
+
+        mockMvc.perform(delete("/api/v1/suppliers/{id}", defaultSupplier.getId()))
+                .andExpect(status().isNoContent());
+        // Nos testes a transação nunca é confirmada, então os eventos AFTER_COMMIT são entregues manualmente.
+        applicationEvents.stream(ProductChangedEvent.class).forEach(productSearchIndex::onProductChanged);
+
+        mockMvc.perform(get("/api/v1/products/search").param("q", "bluetooth"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0))
+                .andExpect(statementCount(0));  // O índice não devolveu o ID; nada foi buscado no banco.
+    }
 }
@@ -0,0 +1,169 @@
+package com.company.nexus.controller;
+
+import com.company.nexus.dto.OrderItemRequestDTO;
+import com.company.nexus.dto.OrderRequestDTO;
+import com.company.nexus.model.Customer;
+import com.company.nexus.model.Employee;
+import com.company.nexus.model.Product;
+import com.company.nexus.model.Supplier;
+import com.company.nexus.repository.CustomerRepository;
+import com.company.nexus.repository.EmployeeRepository;
+import com.company.nexus.repository.ProductRepository;
+import com.company.nexus.repository.SupplierRepository;
+import com.company.nexus.service.OrderRevenueEvent;
+import com.company.nexus.service.RevenueSummaryWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Os testes são @Transactional, então os deltas publicados pelos pedidos nunca chegam ao writer (ele só os
+ * recebe depois do commit): são capturados com @RecordApplicationEvents e aplicados diretamente.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+@RecordApplicationEvents
+class ReportControllerTest {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private ApplicationEvents applicationEvents;
+    @Autowired private RevenueSummaryWriter revenueSummaryWriter;
+    @Autowired private CustomerRepository customerRepository;
+    @Autowired private EmployeeRepository employeeRepository;
+    @Autowired private SupplierRepository supplierRepository;
+    @Autowired private ProductRepository productRepository;
+
+    private Customer carrie;
+    private Employee doug;
+    private Product tv;
+    private Product remote;
+
+    @BeforeEach
+    void setUp() {
+        carrie = customerRepository.save(new Customer(
+                null, "Carrie", "Heffernan", "carrie.reports@example.com", "111", "Queens, NY"
+        ));
+        doug = employeeRepository.save(new Employee(
+                null, "Doug", "Heffernan", "IPS Driver", "doug.reports@ips.com", LocalDate.of(1995, 5, 1)
+        ));
+        Supplier supplier = supplierRepository.save(new Supplier(
+                null, "Big TV Store", "Spence", "spence.reports@tv.com", "222", new ArrayList<>()
+        ));
+        tv = productRepository.save(new Product(
+                null, "Big Screen TV", "A very large TV", new BigDecimal("1200.00"), "TV-REPORT-01", supplier
+        ));
+        remote = productRepository.save(new Product(
+                null, "Remote", "Universal remote", new BigDecimal("50.00"), "REMOTE-REPORT-01", supplier
+        ));
+    }
+
+    @Test
+    @DisplayName("Deve somar pedidos criados e descontar pedidos cancelados na receita diária")
+    void revenue_shouldReflectCreatedAndCancelledOrders() throws Exception {
+        createAndCancelOrders();
+        revenueSummaryWriter.apply(applicationEvents.stream(OrderRevenueEvent.class)
+                .flatMap(event -> event.deltas().stream())
+                .toList());
+
+        assertRevenue();
+    }
+
+    @Test
+    @DisplayName("Deve reconstruir a receita diária a partir dos pedidos com o mesmo resultado dos deltas")
+    void rebuild_shouldRecomputeRevenueFromOrders() throws Exception {
+        createAndCancelOrders();
+
+        mockMvc.perform(post("/api/v1/reports/rebuild"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rows").isNumber());
+
+        assertRevenue();
+    }
+
+    @Test
+    @DisplayName("Deve retornar status 400 para um intervalo maior que o permitido")
+    void revenue_withTooLongRange_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/v1/reports/customers/{id}/revenue", carrie.getId())
+                        .param("from", "2024-01-01")
+                        .param("to", "2025-06-30"))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Pedido 1: Doug vende 2 TVs e 1 controle para Carrie. Pedido 2: 1 TV sem funcionário, depois cancelado.
+     */
+    private void createAndCancelOrders() throws Exception {
+        createOrder(new OrderRequestDTO(carrie.getId(), doug.getId(), List.of(
+                new OrderItemRequestDTO(tv.getId(), 2),
+                new OrderItemRequestDTO(remote.getId(), 1)
+        )));
+        Number cancelledId = JsonPath.read(
+                createOrder(new OrderRequestDTO(carrie.getId(), null, List.of(new OrderItemRequestDTO(tv.getId(), 1))))
+                        .andReturn().getResponse().getContentAsString(),
+                "$.id"
+        );
+        mockMvc.perform(post("/api/v1/orders/{id}/cancel", cancelledId.longValue()))
+                .andExpect(status().isOk());
+    }
+
+    private ResultActions createOrder(OrderRequestDTO requestDTO) throws Exception {
+        return mockMvc.perform(post("/api/v1/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDTO)))
+                .andExpect(status().isCreated());
+    }
+
+    private void assertRevenue() throws Exception {
+        String today = LocalDate.now().toString();
+
+        mockMvc.perform(get("/api/v1/reports/customers/{id}/revenue", carrie.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.dimension").value("CUSTOMER"))
+                .andExpect(jsonPath("$.orderCount").value(1))
+                .andExpect(jsonPath("$.quantity").value(3))
+                .andExpect(jsonPath("$.revenue").value(2450.00))
+                .andExpect(jsonPath("$.days.length()").value(1))
+                .andExpect(jsonPath("$.days[0].date").value(today));
+
+        mockMvc.perform(get("/api/v1/reports/employees/{id}/revenue", doug.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orderCount").value(1))
+                .andExpect(jsonPath("$.revenue").value(2450.00));
+
+        mockMvc.perform(get("/api/v1/reports/products/{id}/revenue", tv.getId())
+                        .param("from", today)
+                        .param("to", today))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orderCount").value(1))
+                .andExpect(jsonPath("$.quantity").value(2))
+                .andExpect(jsonPath("$.revenue").value(2400.00));
+
+        mockMvc.perform(get("/api/v1/reports/products/{id}/revenue", remote.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.quantity").value(1))
+                .andExpect(jsonPath("$.revenue").value(50.00));
+    }
+}
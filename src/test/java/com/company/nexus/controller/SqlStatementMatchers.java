@@ -0,0 +1,46 @@
+package com.company.nexus.controller;
+
+import com.company.nexus.monitoring.SqlStatementStats;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Asserções MockMvc sobre o SQL executado durante a requisição (registrado pelo SqlBudgetFilter).
+ * <p>
+ * Só o que roda dentro da requisição é contado. Grave e descarregue (flush/clear) os dados do teste antes do
+ * perform(), ou os INSERTs pendentes entram na conta.
+ */
+final class SqlStatementMatchers {
+
+    private SqlStatementMatchers() {
+    }
+
+    static ResultMatcher statementCount(int expected) {
+        return result -> assertThat(stats(result).statements())
+                .as("SQL statements executed by %s", result.getRequest().getRequestURI())
+                .isEqualTo(expected);
+    }
+
+    static ResultMatcher maxStatements(int max) {
+        return result -> assertThat(stats(result).statements())
+                .as("SQL statements executed by %s", result.getRequest().getRequestURI())
+                .isLessThanOrEqualTo(max);
+    }
+
+    /**
+     * Falha se algum SELECT foi executado mais de uma vez na requisição (N+1).
+     */
+    static ResultMatcher noRepeatedSelects() {
+        return result -> assertThat(stats(result).repeatedSelects(2))
+                .as("SELECTs repeated by %s", result.getRequest().getRequestURI())
+                .isEmpty();
+    }
+
+    static SqlStatementStats stats(MvcResult result) {
+        Object stats = result.getRequest().getAttribute(SqlStatementStats.REQUEST_ATTRIBUTE);
+        assertThat(stats).as("SqlBudgetFilter did not run for this request").isNotNull();
+        return (SqlStatementStats) stats;
+    }
+}